@@ -12,13 +12,21 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -64,6 +72,8 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    /** factor of the reading pause up to which the pause is extended while read requests fail */
+    private static final int MAX_READ_BACKOFF = 16;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
@@ -86,7 +96,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private volatile Map<GroupAddress, Set<GroupAddressListener>> groupAddressRoutes = new ConcurrentHashMap<>();
+
+    /**
+     * Datapoints waiting to be read, a queue per priority in the order of the priorities. The map contains the
+     * queued datapoint of each group address, so a datapoint is queued only once. A queued datapoint moved to a higher
+     * priority stays in the queue of its previous priority, and is skipped there as it is not in the map anymore. Both
+     * are guarded by the map.
+     */
+    private final List<Queue<ReadDatapoint>> readDatapoints = new ArrayList<>();
+    private final Map<GroupAddress, ReadDatapoint> queuedReads = new HashMap<>();
+    private long coalescedReads;
+    private long connectedNanos = System.nanoTime();
+    private long readsSinceConnect;
+    private long initialReadMillis = -1;
+    /** the reading pause is extended by this pause while read requests fail */
+    private volatile long readBackoffMillis;
+    private volatile long nextReadNanos = System.nanoTime();
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -132,6 +158,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        for (int i = 0; i < ReadPriority.values().length; i++) {
+            readDatapoints.add(new ArrayDeque<>());
+        }
     }
 
     public void initialize() {
@@ -196,6 +225,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
+            synchronized (queuedReads) {
+                connectedNanos = System.nanoTime();
+                readsSinceConnect = 0;
+                coalescedReads = 0;
+                initialReadMillis = -1;
+            }
+            readBackoffMillis = 0;
+            nextReadNanos = System.nanoTime();
             busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
                     TimeUnit.MILLISECONDS);
 
@@ -223,7 +260,10 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     @SuppressWarnings("null")
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        synchronized (queuedReads) {
+            readDatapoints.forEach(Queue::clear);
+            queuedReads.clear();
+        }
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -251,13 +291,26 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        for (GroupAddressListener listener : getGroupAddressListeners(destination)) {
+            knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * Returns the listeners of the given group address. They are looked up once per group address and kept until a
+     * listener registers or unregisters, so that a telegram does not need to ask every listener.
+     *
+     * @param destination the group address
+     * @return the listeners of the group address
+     */
+    Set<GroupAddressListener> getGroupAddressListeners(GroupAddress destination) {
+        return groupAddressRoutes.computeIfAbsent(destination, groupAddress -> {
+            Set<GroupAddressListener> listeners = groupAddressListeners.stream()
+                    .filter(listener -> listener.listensTo(groupAddress)).collect(Collectors.toSet());
+            return listeners.isEmpty() ? Collections.emptySet() : listeners;
+        });
+    }
+
     /**
      * Transforms a {@link Type} into a datapoint type value for the KNX bus.
      *
@@ -279,15 +332,21 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
+        if (System.nanoTime() - nextReadNanos < 0) {
+            // backing off after failed read requests
+            return;
+        }
+        ReadDatapoint datapoint = pollReadDatapoint();
         if (datapoint != null) {
             datapoint.incrementRetries();
             try {
                 logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
                 processCommunicator.read(datapoint.getDatapoint());
+                adaptReadPause(true);
             } catch (KNXException e) {
+                adaptReadPause(false);
                 if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
+                    requeueReadDatapoint(datapoint);
                     logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
                             datapoint.getDatapoint().getMainAddress(), e.getMessage());
                 } else {
@@ -301,6 +360,103 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
+    /**
+     * Takes the next datapoint to read, the one waiting longest with the highest priority
+     *
+     * @return the datapoint, or null if there is no datapoint to read
+     */
+    @Nullable
+    ReadDatapoint pollReadDatapoint() {
+        synchronized (queuedReads) {
+            for (Queue<ReadDatapoint> queue : readDatapoints) {
+                ReadDatapoint datapoint;
+                while ((datapoint = queue.poll()) != null) {
+                    GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+                    // compare instances, read datapoints are equal if their group addresses are
+                    if (queuedReads.get(groupAddress) != datapoint) {
+                        // moved to a higher priority and read already, or queued again
+                        continue;
+                    }
+                    queuedReads.remove(groupAddress);
+                    readsSinceConnect++;
+                    return datapoint;
+                }
+            }
+            if (initialReadMillis < 0 && readsSinceConnect > 0) {
+                initialReadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectedNanos);
+                logger.debug(
+                        "Bridge {} read all queued datapoints {}ms after connecting ({} read requests, {} requests for already queued datapoints)",
+                        thingUID, initialReadMillis, readsSinceConnect, coalescedReads);
+            }
+            return null;
+        }
+    }
+
+    void requeueReadDatapoint(ReadDatapoint datapoint) {
+        GroupAddress groupAddress = datapoint.getDatapoint().getMainAddress();
+        synchronized (queuedReads) {
+            // the datapoint might have been queued again in the meantime
+            if (queuedReads.putIfAbsent(groupAddress, datapoint) == null) {
+                readQueue(datapoint.getPriority()).add(datapoint);
+            }
+        }
+    }
+
+    /**
+     * Extends the pause between read requests while they fail, e.g. because the bus is busy and responses time out.
+     * The pause is doubled on each failure and halved on each successful read request.
+     */
+    void adaptReadPause(boolean successful) {
+        long backoff = readBackoffMillis;
+        if (successful) {
+            backoff = backoff / 2;
+        } else {
+            long minBackoff = Math.max(readingPause, 1);
+            backoff = Math.min(Math.max(backoff * 2, minBackoff), minBackoff * MAX_READ_BACKOFF);
+        }
+        if (backoff != readBackoffMillis) {
+            logger.trace("Bridge {} pauses {}ms in addition between read requests", thingUID, backoff);
+        }
+        readBackoffMillis = backoff;
+        nextReadNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+    }
+
+    /**
+     * Get the number of datapoints waiting to be read
+     */
+    public int getReadQueueSize() {
+        synchronized (queuedReads) {
+            return queuedReads.size();
+        }
+    }
+
+    /**
+     * Get the number of read requests for datapoints which were already waiting to be read since connecting
+     */
+    public long getCoalescedReads() {
+        synchronized (queuedReads) {
+            return coalescedReads;
+        }
+    }
+
+    /**
+     * Get the time from connecting to the bus until all queued datapoints were read for the first time
+     *
+     * @return the time in milliseconds, or -1 if there are still datapoints to read
+     */
+    public long getInitialReadMillis() {
+        synchronized (queuedReads) {
+            return initialReadMillis;
+        }
+    }
+
+    /**
+     * Get the pause in milliseconds which is added to the reading pause after failed read requests
+     */
+    long getReadBackoffMillis() {
+        return readBackoffMillis;
+    }
+
     public void dispose() {
         cancelReconnectJob();
         disconnect(null);
@@ -366,23 +522,40 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        synchronized (queuedReads) {
+            ReadDatapoint queued = queuedReads.get(groupAddress);
+            if (queued != null) {
+                coalescedReads++;
+                if (queued.getPriority().compareTo(priority) <= 0) {
+                    return;
+                }
+                // the entry in the queue of the lower priority is skipped when it is polled
             }
+            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, priority, readRetriesLimit);
+            queuedReads.put(groupAddress, retryDatapoint);
+            readQueue(priority).add(retryDatapoint);
         }
     }
 
+    private Queue<ReadDatapoint> readQueue(ReadPriority priority) {
+        return readDatapoints.get(priority.ordinal());
+    }
+
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        boolean added = groupAddressListeners.add(listener);
+        // a registered listener may listen to other group addresses now
+        groupAddressRoutes = new ConcurrentHashMap<>();
+        return added;
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        boolean removed = groupAddressListeners.remove(listener);
+        groupAddressRoutes = new ConcurrentHashMap<>();
+        return removed;
     }
 
     @Override
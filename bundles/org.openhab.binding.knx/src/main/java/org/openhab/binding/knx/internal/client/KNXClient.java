@@ -29,6 +29,24 @@ import tuwien.auto.calimero.datapoint.Datapoint;
 @NonNullByDefault
 public interface KNXClient {
 
+    /**
+     * Priority of a read request, highest first
+     */
+    enum ReadPriority {
+        /**
+         * Reads requested by the user, e.g. by a refresh command
+         */
+        REFRESH,
+        /**
+         * First read of a datapoint, to get its initial state
+         */
+        INITIAL,
+        /**
+         * Regular reads of a datapoint
+         */
+        PERIODIC
+    }
+
     /**
      * Check whether the client is connected
      *
@@ -78,10 +96,14 @@ public interface KNXClient {
 
     /**
      * Schedule the given data point for asynchronous reading.
+     * <p>
+     * A data point which is already waiting to be read is not queued again, but moved ahead if the given priority is
+     * higher.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the read request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
 
     /**
      * Write a command to the KNX bus.
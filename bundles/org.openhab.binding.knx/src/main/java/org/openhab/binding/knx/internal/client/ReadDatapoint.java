@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import org.openhab.binding.knx.internal.client.KNXClient.ReadPriority;
+
 import tuwien.auto.calimero.datapoint.Datapoint;
 
 /**
@@ -22,11 +24,13 @@ import tuwien.auto.calimero.datapoint.Datapoint;
 public class ReadDatapoint {
 
     private final Datapoint datapoint;
+    private final ReadPriority priority;
     private int retries;
     private final int limit;
 
-    public ReadDatapoint(Datapoint datapoint, int limit) {
+    public ReadDatapoint(Datapoint datapoint, ReadPriority priority, int limit) {
         this.datapoint = datapoint;
+        this.priority = priority;
         this.retries = 0;
         this.limit = limit;
     }
@@ -35,6 +39,10 @@ public class ReadDatapoint {
         return datapoint;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
     public int getRetries() {
         return retries;
     }
@@ -17,6 +17,9 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
@@ -24,6 +27,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -94,6 +100,8 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     private static final String TIME_DAY_FORMAT = new String("EEE, HH:mm:ss");
     private static final String DATE_FORMAT = new String("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern(DateTimeType.DATE_PATTERN);
 
     /**
      * stores the openHAB type class for (supported) KNX datapoint types in a generic way.
@@ -107,6 +115,40 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /** stores the translators and the parsed numbers for each KNX datapoint type id in use */
+    private final Map<String, DptTranslators> translators = new ConcurrentHashMap<>();
+
+    /**
+     * Translators of a datapoint type, with the main and sub number and the openHAB type class of the datapoint type.
+     * A translator keeps the last translated data, so each thread borrows a translator and returns it when done.
+     */
+    private class DptTranslators {
+        private final String id;
+        private final DPT dpt;
+        private final int mainNumber;
+        private final int subNumber;
+        private final Class<? extends Type> typeClass;
+        private final Queue<DPTXlator> idle = new ConcurrentLinkedQueue<>();
+
+        private DptTranslators(DPTXlator translator) {
+            this.dpt = translator.getType();
+            this.id = dpt.getID();
+            this.mainNumber = getMainNumber(id);
+            this.subNumber = getSubNumber(id);
+            this.typeClass = toTypeClass(id);
+            idle.add(translator);
+        }
+
+        private DPTXlator borrow() throws KNXException {
+            DPTXlator translator = idle.poll();
+            return translator != null ? translator : TranslatorTypes.createTranslator(0, id);
+        }
+
+        private void release(DPTXlator translator) {
+            idle.add(translator);
+        }
+    }
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -571,28 +613,48 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         defaultDptMap.put(HSBType.class, DPTXlatorRGB.DPT_RGB.getID());
     }
 
+    /**
+     * Returns the translators of the given datapoint type id. They are created once per datapoint type id, instead
+     * of looking up the translator class and parsing the id for every telegram.
+     *
+     * @param dptID the datapoint type id
+     * @return the translators
+     * @throws KNXException if there is no translator for the datapoint type id
+     */
+    private DptTranslators getTranslators(String dptID) throws KNXException {
+        DptTranslators dptTranslators = translators.get(dptID);
+        if (dptTranslators == null) {
+            dptTranslators = new DptTranslators(TranslatorTypes.createTranslator(0, dptID));
+            DptTranslators previous = translators.putIfAbsent(dptID, dptTranslators);
+            if (previous != null) {
+                dptTranslators = previous;
+            }
+        }
+        return dptTranslators;
+    }
+
     @Override
     public String toDPTValue(Type type, String dptID) {
 
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
+        DptTranslators dptTranslators;
+        try {
+            dptTranslators = getTranslators(dptID);
+        } catch (KNXException e) {
+            logger.debug("toDPTValue couldn't create a translator for dptID: {}", dptID);
+            return null;
+        }
+        DPT dpt = dptTranslators.dpt;
+        int mainNumber = dptTranslators.mainNumber;
         if (mainNumber == -1) {
             logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
             return null;
         }
-        int subNumber = getSubNumber(dptID);
+        int subNumber = dptTranslators.subNumber;
         if (subNumber == -1) {
             logger.debug("toType: couldn't identify sub number in dptID: {}.", dptID);
             return null;
         }
 
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
-            return null;
-        }
-
         try {
             // check for HSBType first, because it extends PercentType as well
             if (type instanceof HSBType) {
@@ -674,20 +736,23 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        DptTranslators dptTranslators = null;
+        DPTXlator translator = null;
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
+            dptTranslators = getTranslators(datapoint.getDPT());
+            translator = dptTranslators.borrow();
             translator.setData(data);
             String value = translator.getValue();
 
-            String id = translator.getType().getID();
+            String id = dptTranslators.id;
             logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
 
-            int mainNumber = getMainNumber(id);
+            int mainNumber = dptTranslators.mainNumber;
             if (mainNumber == -1) {
                 logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int subNumber = dptTranslators.subNumber;
             if (subNumber == -1) {
                 logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
                 return null;
@@ -741,16 +806,19 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                      * There is no issue with DPTXlator2ByteFloat since calimero is using a non-localized translation
                      * there.
                      */
-                    DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
-                    Float f = translator4ByteFloat.getValueFloat();
-                    if (Math.abs(f) < 100000) {
-                        value = String.valueOf(f);
-                    } else {
-                        NumberFormat dcf = NumberFormat.getInstance(Locale.US);
-                        if (dcf instanceof DecimalFormat) {
-                            ((DecimalFormat) dcf).applyPattern("0.#####E0");
+                    // The value is only used for string types, numbers are taken from the translator
+                    if (StringType.class.equals(dptTranslators.typeClass)) {
+                        DPTXlator4ByteFloat translator4ByteFloat = (DPTXlator4ByteFloat) translator;
+                        Float f = translator4ByteFloat.getValueFloat();
+                        if (Math.abs(f) < 100000) {
+                            value = String.valueOf(f);
+                        } else {
+                            NumberFormat dcf = NumberFormat.getInstance(Locale.US);
+                            if (dcf instanceof DecimalFormat) {
+                                ((DecimalFormat) dcf).applyPattern("0.#####E0");
+                            }
+                            value = dcf.format(f);
                         }
-                        value = dcf.format(f);
                     }
                     break;
                 case 18:
@@ -793,7 +861,8 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                             && !translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
                         // Pure date format, no time information
                         cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = DATE_TIME_FORMATTER
+                                .format(LocalDateTime.ofInstant(cal.toInstant(), ZoneId.systemDefault()));
                         return DateTimeType.valueOf(value);
                     } else if (!translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
                             && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
@@ -802,19 +871,21 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                         cal.set(Calendar.HOUR_OF_DAY, translatorDateTime.getHour());
                         cal.set(Calendar.MINUTE, translatorDateTime.getMinute());
                         cal.set(Calendar.SECOND, translatorDateTime.getSecond());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = DATE_TIME_FORMATTER
+                                .format(LocalDateTime.ofInstant(cal.toInstant(), ZoneId.systemDefault()));
                         return DateTimeType.valueOf(value);
                     } else if (translatorDateTime.isValidField(DPTXlatorDateTime.YEAR)
                             && translatorDateTime.isValidField(DPTXlatorDateTime.TIME)) {
                         // Date format and time information
                         cal.setTimeInMillis(translatorDateTime.getValueMilliseconds());
-                        value = new SimpleDateFormat(DateTimeType.DATE_PATTERN).format(cal.getTime());
+                        value = DATE_TIME_FORMATTER
+                                .format(LocalDateTime.ofInstant(cal.toInstant(), ZoneId.systemDefault()));
                         return DateTimeType.valueOf(value);
                     }
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = dptTranslators.typeClass;
             if (typeClass == null) {
                 return null;
             }
@@ -856,6 +927,10 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     datapoint.getDPT());
         } catch (KNXException e) {
             logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+        } finally {
+            if (dptTranslators != null && translator != null) {
+                dptTranslators.release(translator);
+            }
         }
 
         return null;
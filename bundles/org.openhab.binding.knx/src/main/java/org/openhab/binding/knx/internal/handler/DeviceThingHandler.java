@@ -15,6 +15,8 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -44,6 +46,7 @@ import org.openhab.binding.knx.internal.channel.KNXChannelType;
 import org.openhab.binding.knx.internal.channel.KNXChannelTypes;
 import org.openhab.binding.knx.internal.client.AbstractKNXClient;
 import org.openhab.binding.knx.internal.client.InboundSpec;
+import org.openhab.binding.knx.internal.client.KNXClient.ReadPriority;
 import org.openhab.binding.knx.internal.client.OutboundSpec;
 import org.openhab.binding.knx.internal.config.DeviceConfig;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
@@ -69,7 +72,8 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     private final Logger logger = LoggerFactory.getLogger(DeviceThingHandler.class);
 
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
-    private final Set<GroupAddress> groupAddresses = new HashSet<>();
+    private volatile Set<GroupAddress> groupAddresses = Collections.emptySet();
+    private volatile Map<GroupAddress, List<ListenRoute>> listenRoutes = Collections.emptyMap();
     private final Set<GroupAddress> groupAddressesWriteBlockedOnce = new HashSet<>();
     private final Set<OutboundSpec> groupAddressesRespondingSpec = new HashSet<>();
     private final Map<GroupAddress, @Nullable ScheduledFuture<?>> readFutures = new HashMap<>();
@@ -77,24 +81,65 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     private @Nullable IndividualAddress address;
     private int readInterval;
 
+    /**
+     * A channel listening to a group address, with the listen spec of the group address
+     */
+    private static class ListenRoute {
+        private final ChannelUID channelUID;
+        private final KNXChannelType selector;
+        private final Configuration configuration;
+        private final InboundSpec listenSpec;
+        private final boolean control;
+
+        private ListenRoute(ChannelUID channelUID, KNXChannelType selector, Configuration configuration,
+                InboundSpec listenSpec, boolean control) {
+            this.channelUID = channelUID;
+            this.selector = selector;
+            this.configuration = configuration;
+            this.listenSpec = listenSpec;
+            this.control = control;
+        }
+    }
+
     public DeviceThingHandler(Thing thing) {
         super(thing);
     }
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses have to be known before registering at the client
         initializeGroupAddresses();
+        super.initialize();
     }
 
+    /**
+     * Collects the group addresses of all channels and the channels listening to each group address, so that a
+     * telegram is dispatched to its channels without looking at the configuration of every channel.
+     * Changed channels or configurations initialize the handler again.
+     */
     private void initializeGroupAddresses() {
-        forAllChannels((selector, channelConfiguration) -> {
-            groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
-        });
+        Set<GroupAddress> groupAddresses = new HashSet<>();
+        Map<GroupAddress, List<ListenRoute>> listenRoutes = new HashMap<>();
+        for (Channel channel : getThing().getChannels()) {
+            boolean control = isControl(channel.getUID());
+            withKNXType(channel, (selector, channelConfiguration) -> {
+                groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
+                groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
+                Set<GroupAddress> listenAddresses = selector.getListenAddresses(channelConfiguration);
+                groupAddresses.addAll(listenAddresses);
+                for (GroupAddress groupAddress : listenAddresses) {
+                    InboundSpec listenSpec = selector.getListenSpec(channelConfiguration, groupAddress);
+                    if (listenSpec != null) {
+                        listenRoutes.computeIfAbsent(groupAddress, ga -> new ArrayList<>()).add(new ListenRoute(
+                                channel.getUID(), selector, channelConfiguration, listenSpec, control));
+                    }
+                }
+            });
+        }
+        this.groupAddresses = groupAddresses;
+        this.listenRoutes = listenRoutes;
     }
 
     @Override
@@ -130,17 +175,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         }
     }
 
-    private void forAllChannels(ChannelFunction function) {
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, function);
-        }
-    }
-
     @Override
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, false);
             });
         }
     }
@@ -151,42 +190,52 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, false);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, boolean refresh)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                scheduleReadJob(groupAddress, readSpec.getDPT(), refresh);
             }
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
+    /**
+     * Reads the group address now, with the priority of a refresh or of an initial read, and schedules the periodic
+     * reads if a read interval is configured.
+     */
+    private void scheduleReadJob(GroupAddress groupAddress, String dpt, boolean refresh) {
+        ReadPriority priority = refresh ? ReadPriority.REFRESH : ReadPriority.INITIAL;
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
+                future = getScheduler().scheduleWithFixedDelay(
+                        () -> readDatapoint(groupAddress, dpt, ReadPriority.PERIODIC), readInterval, readInterval,
                         TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
+            } else if (refresh) {
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, priority));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, ReadPriority priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -214,7 +263,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, true);
             });
         } else {
             switch (channelUID.getId()) {
@@ -325,31 +374,35 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         logger.debug("onGroupWrite Thing '{}' received a GroupValueWrite telegram from '{}' for destination '{}'",
                 getThing().getUID(), source, destination);
 
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, (selector, configuration) -> {
-                InboundSpec listenSpec = selector.getListenSpec(configuration, destination);
-                if (listenSpec != null) {
-                    logger.trace(
-                            "onGroupWrite Thing '{}' processes a GroupValueWrite telegram for destination '{}' for channel '{}'",
-                            getThing().getUID(), destination, channel.getUID());
-                    /**
-                     * Remember current KNXIO outboundSpec only if it is a control channel.
-                     */
-                    if (isControl(channel.getUID())) {
-                        logger.trace("onGroupWrite isControl");
-                        Type type = typeHelper.toType(
-                                new CommandDP(destination, getThing().getUID().toString(), 0, listenSpec.getDPT()),
-                                asdu);
-                        if (type != null) {
-                            OutboundSpec commandSpec = selector.getCommandSpec(configuration, typeHelper, type);
-                            if (commandSpec != null) {
-                                rememberRespondingSpec(commandSpec, true);
-                            }
+        List<ListenRoute> routes = listenRoutes.get(destination);
+        if (routes == null) {
+            return;
+        }
+        for (ListenRoute route : routes) {
+            InboundSpec listenSpec = route.listenSpec;
+            logger.trace(
+                    "onGroupWrite Thing '{}' processes a GroupValueWrite telegram for destination '{}' for channel '{}'",
+                    getThing().getUID(), destination, route.channelUID);
+            /**
+             * Remember current KNXIO outboundSpec only if it is a control channel.
+             */
+            if (route.control) {
+                logger.trace("onGroupWrite isControl");
+                Type type = typeHelper.toType(
+                        new CommandDP(destination, getThing().getUID().toString(), 0, listenSpec.getDPT()), asdu);
+                if (type != null) {
+                    try {
+                        OutboundSpec commandSpec = route.selector.getCommandSpec(route.configuration, typeHelper,
+                                type);
+                        if (commandSpec != null) {
+                            rememberRespondingSpec(commandSpec, true);
                         }
+                    } catch (KNXException e) {
+                        logger.warn("An error occurred on channel {}: {}", route.channelUID, e.getMessage(), e);
                     }
-                    processDataReceived(destination, asdu, listenSpec, channel.getUID());
                 }
-            });
+            }
+            processDataReceived(destination, asdu, listenSpec, route.channelUID);
         }
     }
 
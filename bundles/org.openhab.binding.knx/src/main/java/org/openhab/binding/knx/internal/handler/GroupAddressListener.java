@@ -29,6 +29,9 @@ public interface GroupAddressListener extends BusMessageListener {
 
     /**
      * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
+     * <p>
+     * The client remembers the answer while the listener is registered, so a listener has to register again when the
+     * group addresses it listens to change.
      *
      * @param destination
      */
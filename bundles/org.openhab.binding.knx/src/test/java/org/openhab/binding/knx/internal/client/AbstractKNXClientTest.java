@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.client.KNXClient.ReadPriority;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+import tuwien.auto.calimero.link.KNXNetworkLink;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class AbstractKNXClientTest {
+
+    private static final GroupAddress SHARED_ADDRESS = new GroupAddress(1, 2, 3);
+    private static final GroupAddress OTHER_ADDRESS = new GroupAddress(1, 2, 4);
+    private static final GroupAddress UNUSED_ADDRESS = new GroupAddress(4, 5, 6);
+    private static final int READING_PAUSE = 50;
+
+    private AbstractKNXClient client;
+
+    @Before
+    public void setup() {
+        client = new AbstractKNXClient(0, new ThingUID("knx:ip:bridge"), 5000, READING_PAUSE, 3,
+                mock(ScheduledExecutorService.class), mock(StatusUpdateCallback.class)) {
+            @Override
+            protected KNXNetworkLink establishConnection() throws KNXException {
+                throw new KNXException("not connected in tests");
+            }
+        };
+    }
+
+    private GroupAddressListener listener(GroupAddress... groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.listensTo(any())).thenAnswer(
+                invocation -> Arrays.asList(groupAddresses).contains(invocation.getArgument(0)));
+        return listener;
+    }
+
+    @Test
+    public void testAddressWithSeveralListeners() {
+        GroupAddressListener first = listener(SHARED_ADDRESS);
+        GroupAddressListener second = listener(SHARED_ADDRESS, OTHER_ADDRESS);
+        GroupAddressListener unrelated = listener(OTHER_ADDRESS);
+        client.registerGroupAddressListener(first);
+        client.registerGroupAddressListener(second);
+        client.registerGroupAddressListener(unrelated);
+
+        assertThat(client.getGroupAddressListeners(SHARED_ADDRESS),
+                is(equalTo(new HashSet<>(Arrays.asList(first, second)))));
+        assertThat(client.getGroupAddressListeners(OTHER_ADDRESS),
+                is(equalTo(new HashSet<>(Arrays.asList(second, unrelated)))));
+    }
+
+    @Test
+    public void testAddressWithoutListeners() {
+        GroupAddressListener listener = listener(SHARED_ADDRESS);
+        client.registerGroupAddressListener(listener);
+
+        assertThat(client.getGroupAddressListeners(UNUSED_ADDRESS).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testListenersAreAskedOncePerAddress() {
+        GroupAddressListener listener = listener(SHARED_ADDRESS);
+        client.registerGroupAddressListener(listener);
+
+        client.getGroupAddressListeners(SHARED_ADDRESS);
+        client.getGroupAddressListeners(SHARED_ADDRESS);
+        client.getGroupAddressListeners(UNUSED_ADDRESS);
+        client.getGroupAddressListeners(UNUSED_ADDRESS);
+
+        verify(listener, times(1)).listensTo(SHARED_ADDRESS);
+        verify(listener, times(1)).listensTo(UNUSED_ADDRESS);
+    }
+
+    @Test
+    public void testRoutesAreUpdatedOnRegistration() {
+        GroupAddressListener first = listener(SHARED_ADDRESS);
+        client.registerGroupAddressListener(first);
+        assertThat(client.getGroupAddressListeners(UNUSED_ADDRESS).isEmpty(), is(true));
+
+        GroupAddressListener second = listener(SHARED_ADDRESS, UNUSED_ADDRESS);
+        client.registerGroupAddressListener(second);
+        assertThat(client.getGroupAddressListeners(UNUSED_ADDRESS), is(equalTo(new HashSet<>(Arrays.asList(second)))));
+
+        client.unregisterGroupAddressListener(first);
+        assertThat(client.getGroupAddressListeners(SHARED_ADDRESS), is(equalTo(new HashSet<>(Arrays.asList(second)))));
+    }
+
+    private Datapoint datapoint(GroupAddress groupAddress) {
+        return new CommandDP(groupAddress, groupAddress.toString());
+    }
+
+    private GroupAddress pollReadAddress() {
+        ReadDatapoint datapoint = client.pollReadDatapoint();
+        return datapoint == null ? null : datapoint.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testReadsAreOrderedByPriority() {
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.PERIODIC);
+        client.readDatapoint(datapoint(OTHER_ADDRESS), ReadPriority.INITIAL);
+        client.readDatapoint(datapoint(UNUSED_ADDRESS), ReadPriority.REFRESH);
+
+        assertThat(pollReadAddress(), is(UNUSED_ADDRESS));
+        assertThat(pollReadAddress(), is(OTHER_ADDRESS));
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+        assertThat(pollReadAddress(), is(nullValue()));
+    }
+
+    @Test
+    public void testQueuedDatapointIsReadOnce() {
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.INITIAL);
+        client.readDatapoint(datapoint(OTHER_ADDRESS), ReadPriority.INITIAL);
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.PERIODIC);
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.INITIAL);
+        assertThat(client.getReadQueueSize(), is(2));
+        assertThat(client.getCoalescedReads(), is(2L));
+
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+        assertThat(pollReadAddress(), is(OTHER_ADDRESS));
+        assertThat(pollReadAddress(), is(nullValue()));
+        assertThat(client.getReadQueueSize(), is(0));
+
+        // read again once the queued read request has been sent
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.PERIODIC);
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+    }
+
+    @Test
+    public void testQueuedDatapointMovesToHigherPriority() {
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.PERIODIC);
+        client.readDatapoint(datapoint(OTHER_ADDRESS), ReadPriority.INITIAL);
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.REFRESH);
+        assertThat(client.getReadQueueSize(), is(2));
+
+        ReadDatapoint refresh = client.pollReadDatapoint();
+        assertThat(refresh.getDatapoint().getMainAddress(), is(SHARED_ADDRESS));
+        assertThat(refresh.getPriority(), is(ReadPriority.REFRESH));
+        // the entry of the previous priority is skipped
+        assertThat(pollReadAddress(), is(OTHER_ADDRESS));
+        assertThat(pollReadAddress(), is(nullValue()));
+    }
+
+    @Test
+    public void testQueuedAgainAfterMovingToHigherPriority() {
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.PERIODIC);
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.REFRESH);
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+
+        // the entry of the previous priority does not stand in for the new request
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.INITIAL);
+        ReadDatapoint initial = client.pollReadDatapoint();
+        assertThat(initial.getPriority(), is(ReadPriority.INITIAL));
+        assertThat(pollReadAddress(), is(nullValue()));
+    }
+
+    @Test
+    public void testInitialReadTime() {
+        assertThat(client.getInitialReadMillis(), is(-1L));
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.INITIAL);
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+        assertThat(client.getInitialReadMillis(), is(-1L));
+
+        assertThat(pollReadAddress(), is(nullValue()));
+        assertThat(client.getInitialReadMillis() >= 0, is(true));
+    }
+
+    @Test
+    public void testFailedReadIsRetriedAtItsPriority() {
+        client.readDatapoint(datapoint(SHARED_ADDRESS), ReadPriority.REFRESH);
+        ReadDatapoint failed = client.pollReadDatapoint();
+        client.readDatapoint(datapoint(OTHER_ADDRESS), ReadPriority.PERIODIC);
+
+        client.requeueReadDatapoint(failed);
+
+        assertThat(pollReadAddress(), is(SHARED_ADDRESS));
+        assertThat(pollReadAddress(), is(OTHER_ADDRESS));
+    }
+
+    @Test
+    public void testReadPauseBacksOffWhileReadsFail() {
+        assertThat(client.getReadBackoffMillis(), is(0L));
+
+        client.adaptReadPause(false);
+        assertThat(client.getReadBackoffMillis(), is((long) READING_PAUSE));
+        client.adaptReadPause(false);
+        assertThat(client.getReadBackoffMillis(), is(2L * READING_PAUSE));
+        for (int i = 0; i < 10; i++) {
+            client.adaptReadPause(false);
+        }
+        assertThat(client.getReadBackoffMillis(), is(16L * READING_PAUSE));
+
+        client.adaptReadPause(true);
+        assertThat(client.getReadBackoffMillis(), is(8L * READING_PAUSE));
+        for (int i = 0; i < 10; i++) {
+            client.adaptReadPause(true);
+        }
+        assertThat(client.getReadBackoffMillis(), is(0L));
+    }
+}
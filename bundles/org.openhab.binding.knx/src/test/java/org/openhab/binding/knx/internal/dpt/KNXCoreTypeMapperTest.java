@@ -15,8 +15,14 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.Assert.assertEquals;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.Type;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +36,21 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_translatorsAreReused() throws KNXFormatException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        CommandDP temperature = new CommandDP(new GroupAddress("1/2/3"), "test", 0, "9.001");
+        CommandDP onOff = new CommandDP(new GroupAddress("1/2/4"), "test", 0, "1.001");
+
+        assertEquals(21.5, toDouble(mapper.toType(temperature, new byte[] { 0x0C, 0x33 })), 0.001);
+        assertEquals(OnOffType.ON, mapper.toType(onOff, new byte[] { 0x01 }));
+        assertEquals(21.52, toDouble(mapper.toType(temperature, new byte[] { 0x0C, 0x34 })), 0.001);
+        assertEquals(OnOffType.OFF, mapper.toType(onOff, new byte[] { 0x00 }));
+        assertEquals("21.5", mapper.toDPTValue(new DecimalType("21.5"), "9.001"));
+    }
+
+    private double toDouble(Type type) {
+        return ((DecimalType) type).doubleValue();
+    }
+
 }
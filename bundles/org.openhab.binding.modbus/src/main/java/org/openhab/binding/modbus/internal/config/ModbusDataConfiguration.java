@@ -41,6 +41,8 @@ public class ModbusDataConfiguration {
     private boolean writeMultipleEvenWithSingleRegisterOrCoil;
     private int writeMaxTries = 3; // backwards compatibility and tests
     private long updateUnchangedValuesEveryMillis = 1000L;
+    private long updateMinIntervalMillis;
+    private double updateDeadband;
 
     public @Nullable String getReadStart() {
         return readStart;
@@ -121,4 +123,20 @@ public class ModbusDataConfiguration {
     public void setUpdateUnchangedValuesEveryMillis(long updateUnchangedValuesEveryMillis) {
         this.updateUnchangedValuesEveryMillis = updateUnchangedValuesEveryMillis;
     }
+
+    public long getUpdateMinIntervalMillis() {
+        return updateMinIntervalMillis;
+    }
+
+    public void setUpdateMinIntervalMillis(long updateMinIntervalMillis) {
+        this.updateMinIntervalMillis = updateMinIntervalMillis;
+    }
+
+    public double getUpdateDeadband() {
+        return updateDeadband;
+    }
+
+    public void setUpdateDeadband(double updateDeadband) {
+        this.updateDeadband = updateDeadband;
+    }
 }
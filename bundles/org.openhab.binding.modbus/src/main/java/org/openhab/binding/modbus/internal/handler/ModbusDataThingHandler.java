@@ -64,6 +64,7 @@ import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
 import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
 import org.openhab.io.transport.modbus.BasicWriteTask;
 import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.DecodedValue;
 import org.openhab.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
 import org.openhab.io.transport.modbus.ModbusConstants;
@@ -131,10 +132,34 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile @Nullable Transformation writeTransformation;
     private volatile Optional<Integer> readIndex = Optional.empty();
     private volatile Optional<Integer> readSubIndex = Optional.empty();
+    /**
+     * Index of the value in the polled registers, see {@link #calculateExtractIndex(ValueType, int, int)}
+     */
+    private volatile int readExtractIndex;
+    /**
+     * Holders for decoding the value without allocations. The numeric state is created again only when the decoded
+     * value changes.
+     */
+    private final DecodedValue decodedValue = new DecodedValue();
+    private final DecodedValue lastDecodedValue = new DecodedValue();
+    private volatile @Nullable State lastNumericState;
+    /**
+     * Registers of the polled data holding the value, see {@link #calculateExtractIndex(ValueType, int, int)}
+     */
+    private volatile int readRegisterOffset;
+    private volatile int readRegisterCount;
+    /**
+     * Raw data of the value when the channels were last updated, see {@link #isUnchanged(long, long)}
+     */
+    private volatile long lastReadFingerprint;
+    private volatile boolean hasLastReadFingerprint;
+    private volatile long lastReadProcessedMillis;
     private volatile @Nullable Integer writeStart;
     private volatile int pollStart;
     private volatile int slaveId;
     private volatile long updateUnchangedValuesEveryMillis;
+    private volatile long updateMinIntervalMillis;
+    private volatile double updateDeadband;
     private volatile @Nullable ModbusSlaveEndpoint slaveEndpoint;
     private volatile @Nullable ModbusManager manager;
     private volatile @Nullable PollTask pollTask;
@@ -144,8 +169,23 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
     private volatile Map<String, ChannelUID> channelCache = new HashMap<>();
-    private volatile Map<ChannelUID, Long> channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-    private volatile Map<ChannelUID, State> channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+    /**
+     * Last state and update time of each channel. Guarded by the handler instance.
+     */
+    private final Map<ChannelUID, ChannelUpdate> channelUpdates = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+
+    /**
+     * Last published state of a channel
+     */
+    private static class ChannelUpdate {
+        private State state;
+        private long updatedMillis;
+
+        private ChannelUpdate(State state, long updatedMillis) {
+            this.state = state;
+            this.updatedMillis = updatedMillis;
+        }
+    }
 
     private volatile LocalDateTime lastStatusInfoUpdate = LocalDateTime.MIN;
     private volatile ThingStatusInfo statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE,
@@ -337,6 +377,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = config.getUpdateUnchangedValuesEveryMillis();
+            updateMinIntervalMillis = config.getUpdateMinIntervalMillis();
+            updateDeadband = config.getUpdateDeadband();
             Bridge bridge = getBridge();
             if (bridge == null) {
                 logger.debug("Thing {} '{}' has no bridge", getThing().getUID(), getThing().getLabel());
@@ -398,6 +440,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         writeTransformation = null;
         readIndex = Optional.empty();
         readSubIndex = Optional.empty();
+        readExtractIndex = 0;
+        lastNumericState = null;
+        readRegisterOffset = 0;
+        readRegisterCount = 0;
+        hasLastReadFingerprint = false;
         writeStart = null;
         pollStart = 0;
         slaveId = 0;
@@ -412,8 +459,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         channelCache = new HashMap<>();
         lastStatusInfoUpdate = LocalDateTime.MIN;
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
-        channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
-        channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        channelUpdates.clear();
     }
 
     @Override
@@ -505,6 +551,40 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         readTransformation = new Transformation(config.getReadTransform());
 
         validateReadIndex(pollTask);
+        if (isReadEnabled && readIndex.isPresent()) {
+            readExtractIndex = calculateExtractIndex(readValueType, readIndex.get(), readSubIndex.orElse(0));
+            if (readValueType.getBits() >= 16) {
+                readRegisterOffset = readExtractIndex;
+                readRegisterCount = readValueType.getBits() / 16;
+            } else {
+                readRegisterOffset = readExtractIndex / (16 / readValueType.getBits());
+                readRegisterCount = 1;
+            }
+        }
+        lastNumericState = null;
+        hasLastReadFingerprint = false;
+    }
+
+    /**
+     * Calculate the index of the value in the polled registers
+     *
+     * e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
+     * of register 10)
+     * e.g. with 8bit integer, extractIndex=3 means high byte of second register
+     *
+     * with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
+     * respectively.
+     * with >=16 bit types, this is index of first register
+     */
+    private int calculateExtractIndex(ValueType readValueType, int readIndex, int readSubIndex) {
+        if (readValueType.getBits() >= 16) {
+            // Invariant, checked in validateReadIndex
+            assert readSubIndex == 0;
+            return readIndex - pollStart;
+        } else {
+            int itemsPerRegister = 16 / readValueType.getBits();
+            return (readIndex - pollStart) * itemsPerRegister + readSubIndex;
+        }
     }
 
     private void validateAndParseWriteParameters() throws ModbusConfigurationException {
@@ -654,29 +734,21 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         if (readValueType == null) {
             return;
         }
-        State numericState;
-
-        // extractIndex:
-        // e.g. with bit, extractIndex=4 means 5th bit (from right) ("10.4" -> 5th bit of register 10, "10.4" -> 5th bit
-        // of register 10)
-        // bit of second register)
-        // e.g. with 8bit integer, extractIndex=3 means high byte of second register
-        //
-        // with <16 bit types, this is the index of the N'th 1-bit/8-bit item. Each register has 16/2 items,
-        // respectively.
-        // with >=16 bit types, this is index of first register
-        int extractIndex;
-        if (readValueType.getBits() >= 16) {
-            // Invariant, checked in initialize
-            assert readSubIndex.orElse(0) == 0;
-            extractIndex = readIndex.get() - pollStart;
-        } else {
-            int subIndex = readSubIndex.orElse(0);
-            int itemsPerRegister = 16 / readValueType.getBits();
-            extractIndex = (readIndex.get() - pollStart) * itemsPerRegister + subIndex;
+        long now = System.currentTimeMillis();
+        if (readRegisterOffset + readRegisterCount <= registers.size()
+                && isUnchanged(registerFingerprint(registers), now)) {
+            processUnchangedValue(now);
+            return;
+        }
+        int extractIndex = readExtractIndex;
+        ModbusBitUtilities.decodeFromRegisters(registers, extractIndex, readValueType, decodedValue);
+        State numericState = lastNumericState;
+        if (numericState == null || !decodedValue.hasSameValue(lastDecodedValue)) {
+            DecimalType decimal = decodedValue.toDecimalType();
+            numericState = decimal == null ? UnDefType.UNDEF : decimal;
+            lastDecodedValue.copyFrom(decodedValue);
+            lastNumericState = numericState;
         }
-        numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType)
-                .map(state -> (State) state).orElse(UnDefType.UNDEF);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -693,6 +765,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long now = System.currentTimeMillis();
+        if (isUnchanged(boolValue ? 1 : 0, now)) {
+            processUnchangedValue(now);
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -719,6 +796,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                     getThing().getUID(), getThing().getLabel(), error.getClass().getName(), error.toString(),
                     error.getMessage(), error);
         }
+        // values are processed again after recovering from the error
+        hasLastReadFingerprint = false;
         Map<@NonNull ChannelUID, @NonNull State> states = new HashMap<>();
         ChannelUID lastReadErrorUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_ERROR);
         if (isLinked(lastReadErrorUID)) {
@@ -858,28 +937,101 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         return states;
     }
 
+    /**
+     * Fingerprint of the registers holding the value. As values have at most 64 bits, the fingerprint is exact.
+     */
+    private long registerFingerprint(ModbusRegisterArray registers) {
+        long fingerprint = 0;
+        for (int i = readRegisterOffset; i < readRegisterOffset + readRegisterCount; i++) {
+            fingerprint = (fingerprint << 16) | registers.getUnsignedShort(i);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Check whether the raw data of the value is the same as when the channels were last updated, and no unchanged
+     * value needs to be updated yet. In that case decoding, transformations and channel updates can be skipped.
+     *
+     * @param fingerprint raw data of the value
+     * @param now current time in milliseconds
+     * @return true if processing can be skipped
+     */
+    private boolean isUnchanged(long fingerprint, long now) {
+        if (hasLastReadFingerprint && fingerprint == lastReadFingerprint && updateUnchangedValuesEveryMillis > 0L
+                && now - lastReadProcessedMillis <= updateUnchangedValuesEveryMillis) {
+            return true;
+        }
+        lastReadFingerprint = fingerprint;
+        hasLastReadFingerprint = true;
+        lastReadProcessedMillis = now;
+        return false;
+    }
+
+    /**
+     * Handle successful read with unchanged data, only the status and the last read success are updated
+     */
+    private void processUnchangedValue(long now) {
+        updateStatusIfChanged(ThingStatus.ONLINE);
+        ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+        if (isLinked(lastReadSuccessUID)) {
+            updateExpiredChannel(now, lastReadSuccessUID, new DateTimeType());
+        }
+    }
+
     private void updateExpiredChannels(Map<ChannelUID, State> states) {
         synchronized (this) {
             updateStatusIfChanged(ThingStatus.ONLINE);
             long now = System.currentTimeMillis();
             // Update channels that have not been updated in a while, or when their values has changed
             states.forEach((uid, state) -> updateExpiredChannel(now, uid, state));
-            channelLastState = states;
         }
     }
 
     private void updateExpiredChannel(long now, ChannelUID uid, State state) {
         @Nullable
-        State lastState = channelLastState.get(uid);
-        long lastUpdatedMillis = channelLastUpdated.getOrDefault(uid, 0L);
-        long millisSinceLastUpdate = now - lastUpdatedMillis;
-        if (lastUpdatedMillis <= 0L || lastState == null || updateUnchangedValuesEveryMillis <= 0L
-                || millisSinceLastUpdate > updateUnchangedValuesEveryMillis || !lastState.equals(state)) {
+        ChannelUpdate lastUpdate = channelUpdates.get(uid);
+        if (lastUpdate == null) {
+            tryUpdateState(uid, state);
+            channelUpdates.put(uid, new ChannelUpdate(state, now));
+            return;
+        }
+        long millisSinceLastUpdate = now - lastUpdate.updatedMillis;
+        if (millisSinceLastUpdate < updateMinIntervalMillis) {
+            // throttled, the latest state is updated with a later poll once the interval has passed. Unchanged data
+            // is skipped only when no data channel is waiting for such an update.
+            if (!ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS.equals(uid.getId())) {
+                hasLastReadFingerprint = false;
+            }
+            return;
+        }
+        boolean changed = !lastUpdate.state.equals(state) && !isWithinDeadband(lastUpdate.state, state);
+        if (changed || updateUnchangedValuesEveryMillis <= 0L
+                || millisSinceLastUpdate > updateUnchangedValuesEveryMillis) {
             tryUpdateState(uid, state);
-            channelLastUpdated.put(uid, now);
+            lastUpdate.state = state;
+            lastUpdate.updatedMillis = now;
         }
     }
 
+    /**
+     * Check whether both states are numbers differing less than the configured deadband
+     */
+    private boolean isWithinDeadband(State previous, State current) {
+        if (updateDeadband <= 0 || !(previous instanceof Number) || !(current instanceof Number)
+                || !previous.getClass().equals(current.getClass())) {
+            return false;
+        }
+        return Math.abs(((Number) current).doubleValue() - ((Number) previous).doubleValue()) < updateDeadband;
+    }
+
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        super.channelLinked(channelUID);
+        // make sure the newly linked channel is updated with the next poll
+        hasLastReadFingerprint = false;
+        channelUpdates.remove(channelUID);
+    }
+
     private void tryUpdateState(ChannelUID uid, State state) {
         try {
             updateState(uid, state);
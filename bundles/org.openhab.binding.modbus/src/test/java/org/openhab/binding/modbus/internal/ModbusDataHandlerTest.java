@@ -20,6 +20,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,6 +30,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -606,10 +608,17 @@ public class ModbusDataHandlerTest extends JavaTest {
                 true);
     }
 
-    @SuppressWarnings({ "null" })
     private ModbusDataThingHandler testReadHandlingGeneric(ModbusReadFunctionCode functionCode, String start,
             String transform, ValueType valueType, BitArray bits, ModbusRegisterArray registers, Exception error,
             BundleContext context, boolean autoCreateItemsAndLinkToChannels) {
+        return testReadHandlingGeneric(functionCode, start, transform, valueType, bits, registers, error, context,
+                autoCreateItemsAndLinkToChannels, null);
+    }
+
+    @SuppressWarnings({ "null" })
+    private ModbusDataThingHandler testReadHandlingGeneric(ModbusReadFunctionCode functionCode, String start,
+            String transform, ValueType valueType, BitArray bits, ModbusRegisterArray registers, Exception error,
+            BundleContext context, boolean autoCreateItemsAndLinkToChannels, Map<String, Object> extraConfig) {
         ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
 
         int pollLength = 3;
@@ -629,6 +638,9 @@ public class ModbusDataHandlerTest extends JavaTest {
         dataConfig.put("readStart", start);
         dataConfig.put("readTransform", transform);
         dataConfig.put("readValueType", valueType.getConfigValue());
+        if (extraConfig != null) {
+            extraConfig.forEach(dataConfig::put);
+        }
 
         String thingId = "read1";
         ModbusDataThingHandler dataHandler = createDataHandler(thingId, poller,
@@ -789,6 +801,137 @@ public class ModbusDataHandlerTest extends JavaTest {
         assertSingleStateUpdate(dataHandler, CHANNEL_STRING, UnDefType.UNDEF);
     }
 
+    @Test
+    public void testOnRegistersUnchangedRegistersAreNotUpdatedAgain() throws InvalidSyntaxException {
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0xff, (byte) 0xfd) });
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null, registers, null, bundleContext);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+
+        // Same registers again, well within updateUnchangedValuesEveryMillis
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) 0xff, (byte) 0xfd) }));
+
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+        assertSingleStateUpdate(dataHandler, CHANNEL_STRING, new StringType("-3"));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+    }
+
+    private static ModbusRegisterArray int16Registers(int value) {
+        return new BasicModbusRegisterArray(
+                new ModbusRegister[] { new BasicModbusRegister((byte) (value >> 8), (byte) value) });
+    }
+
+    private ModbusDataThingHandler testThrottledReadHandling(int firstValue, Map<String, Object> throttlingConfig) {
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "default", ModbusConstants.ValueType.INT16, null, int16Registers(firstValue), null, bundleContext,
+                true, throttlingConfig);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(firstValue));
+        return dataHandler;
+    }
+
+    private void pollRegisters(ModbusDataThingHandler dataHandler, int value) {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        dataHandler.onRegisters(request, int16Registers(value));
+    }
+
+    private List<State> numberUpdates(ModbusDataThingHandler dataHandler) {
+        return stateUpdates.get(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+    }
+
+    @Test
+    public void testOnRegistersChangeWithinMinIntervalIsNotUpdated() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("updateMinIntervalMillis", new BigDecimal(60_000));
+        ModbusDataThingHandler dataHandler = testThrottledReadHandling(-3, config);
+
+        pollRegisters(dataHandler, 5);
+
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+    }
+
+    @Test
+    public void testOnRegistersChangeIsUpdatedOnceMinIntervalHasPassed() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("updateMinIntervalMillis", new BigDecimal(100));
+        ModbusDataThingHandler dataHandler = testThrottledReadHandling(-3, config);
+
+        // throttled first, the changed value is updated by the first poll after the interval
+        pollRegisters(dataHandler, 5);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+        waitForAssert(() -> {
+            pollRegisters(dataHandler, 5);
+            assertThat(numberUpdates(dataHandler),
+                    is(equalTo(Arrays.asList(new DecimalType(-3), new DecimalType(5)))));
+        }, 2500, 20);
+    }
+
+    @Test
+    public void testOnRegistersUnchangedRegistersAreSkippedWithMinInterval() throws InvalidSyntaxException {
+        AtomicInteger transformations = new AtomicInteger();
+        mockTransformation("MULTIPLY", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                transformations.incrementAndGet();
+                return String.valueOf(Integer.parseInt(function) * Integer.parseInt(source));
+            }
+        });
+        Map<String, Object> config = new HashMap<>();
+        config.put("updateMinIntervalMillis", new BigDecimal(60_000));
+        config.put("updateUnchangedValuesEveryMillis", new BigDecimal(60_000));
+        ModbusDataThingHandler dataHandler = testReadHandlingGeneric(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS,
+                "0", "MULTIPLY(10)", ModbusConstants.ValueType.INT16, null, int16Registers(-3), null, bundleContext,
+                true, config);
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-30));
+        int transformationsOfFirstPoll = transformations.get();
+
+        // the throttled update of the last read success channel must not force processing of the unchanged data
+        pollRegisters(dataHandler, -3);
+        pollRegisters(dataHandler, -3);
+        pollRegisters(dataHandler, -3);
+
+        assertThat(transformations.get(), is(equalTo(transformationsOfFirstPoll)));
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-30));
+        assertSingleStateUpdate(dataHandler, CHANNEL_LAST_READ_SUCCESS, is(notNullValue(State.class)));
+    }
+
+    @Test
+    public void testOnRegistersChangeBelowDeadbandIsNotUpdated() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("updateDeadband", new BigDecimal(2));
+        ModbusDataThingHandler dataHandler = testThrottledReadHandling(-3, config);
+
+        pollRegisters(dataHandler, -2);
+        pollRegisters(dataHandler, -4);
+
+        assertSingleStateUpdate(dataHandler, CHANNEL_NUMBER, new DecimalType(-3));
+        // deadband only applies to numeric states
+        assertThat(stateUpdates.get(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_STRING)),
+                is(equalTo(Arrays.asList(new StringType("-3"), new StringType("-2"), new StringType("-4")))));
+    }
+
+    @Test
+    public void testOnRegistersChangeEqualToDeadbandIsUpdated() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("updateDeadband", new BigDecimal(2));
+        ModbusDataThingHandler dataHandler = testThrottledReadHandling(-3, config);
+
+        // the change is compared to the last updated value (-3), not to the last polled one
+        pollRegisters(dataHandler, -2);
+        pollRegisters(dataHandler, -1);
+        pollRegisters(dataHandler, -5);
+
+        assertThat(numberUpdates(dataHandler),
+                is(equalTo(Arrays.asList(new DecimalType(-3), new DecimalType(-1), new DecimalType(-5)))));
+    }
+
     @Test
     public void testOnRegistersRealTransformationNoLinks() throws InvalidSyntaxException {
         mockTransformation("MULTIPLY", new TransformationService() {
@@ -41,6 +41,11 @@ public class ChannelConfig {
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
     public boolean trigger = false;
+    /**
+     * If true, a received payload that is equal to the previously received one is not processed again.
+     * Does not apply to trigger channels.
+     */
+    public boolean skipUnchangedPayload = false;
     public String unit = "";
 
     public String transformationPattern = "";
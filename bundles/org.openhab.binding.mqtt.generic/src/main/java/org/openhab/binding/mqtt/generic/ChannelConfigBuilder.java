@@ -68,4 +68,9 @@ public class ChannelConfigBuilder {
         config.trigger = trigger;
         return this;
     }
+
+    public ChannelConfigBuilder withSkipUnchangedPayload(boolean skipUnchangedPayload) {
+        config.skipUnchangedPayload = skipUnchangedPayload;
+        return this;
+    }
 }
@@ -14,6 +14,7 @@ package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Formatter;
 import java.util.IllegalFormatException;
 import java.util.List;
@@ -21,6 +22,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -61,6 +63,11 @@ public class ChannelState implements MqttMessageSubscriber {
     protected boolean hasSubscribed = false;
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = new CompletableFuture<>();
+    // Written by the MQTT thread, reset by publishValue() and stop()
+    private volatile byte @Nullable [] lastPayload;
+    private volatile @Nullable Transformed lastTransformed;
+    private final AtomicLong processedMessages = new AtomicLong();
+    private final AtomicLong skippedMessages = new AtomicLong();
 
     /**
      * Creates a new channel state.
@@ -92,6 +99,7 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public void addTransformation(ChannelStateTransformation transformation) {
         transformationsIn.add(transformation);
+        resetLastReceived();
     }
 
     /**
@@ -110,6 +118,7 @@ public class ChannelState implements MqttMessageSubscriber {
     public void clearTransformations() {
         transformationsIn.clear();
         transformationsOut.clear();
+        resetLastReceived();
     }
 
     /**
@@ -131,6 +140,21 @@ public class ChannelState implements MqttMessageSubscriber {
         return channelUID;
     }
 
+    /**
+     * Returns the number of received messages that have been processed.
+     */
+    public long getProcessedMessages() {
+        return processedMessages.get();
+    }
+
+    /**
+     * Returns the number of received messages that have been skipped, because the payload was equal to the
+     * previous one. See {@link ChannelConfig#skipUnchangedPayload}.
+     */
+    public long getSkippedMessages() {
+        return skippedMessages.get();
+    }
+
     /**
      * Incoming message from the MqttBrokerConnection
      *
@@ -145,6 +169,17 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        if (config.skipUnchangedPayload && !config.trigger) {
+            if (Arrays.equals(lastPayload, payload)) {
+                skippedMessages.incrementAndGet();
+                logger.trace("Skipping unchanged payload on topic {} for channel {}", topic, channelUID);
+                receivedOrTimeout();
+                return;
+            }
+            lastPayload = payload;
+        }
+        processedMessages.incrementAndGet();
+
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
@@ -153,10 +188,7 @@ public class ChannelState implements MqttMessageSubscriber {
         }
 
         // String value: Apply transformations
-        String strvalue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            strvalue = t.processValue(strvalue);
-        }
+        String strvalue = transformIncoming(new String(payload, StandardCharsets.UTF_8));
 
         // Is trigger?: Special handling
         if (config.trigger) {
@@ -198,6 +230,45 @@ public class ChannelState implements MqttMessageSubscriber {
         receivedOrTimeout();
     }
 
+    /**
+     * Applies the incoming transformations. If unchanged payloads are skipped, the result for the last value is
+     * reused. A value that could not be transformed is never remembered, so it is transformed again next time.
+     */
+    private String transformIncoming(String value) {
+        if (transformationsIn.isEmpty()) {
+            return value;
+        }
+        final boolean memoize = config.skipUnchangedPayload;
+        final Transformed last = lastTransformed;
+        if (memoize && last != null && value.equals(last.input)) {
+            return last.output;
+        }
+        String strvalue = value;
+        boolean transformed = true;
+        for (ChannelStateTransformation t : transformationsIn) {
+            String temp = t.transform(strvalue);
+            if (temp != null) {
+                strvalue = temp;
+            } else {
+                transformed = false;
+            }
+        }
+        if (!memoize) {
+            return strvalue;
+        }
+        if (transformed) {
+            lastTransformed = new Transformed(value, strvalue);
+        } else {
+            resetLastReceived();
+        }
+        return strvalue;
+    }
+
+    private void resetLastReceived() {
+        lastPayload = null;
+        lastTransformed = null;
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -247,6 +318,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
         cachedValue.resetState();
+        resetLastReceived();
     }
 
     private void receivedOrTimeout() {
@@ -321,6 +393,8 @@ public class ChannelState implements MqttMessageSubscriber {
      */
     public CompletableFuture<Boolean> publishValue(Command command) {
         cachedValue.update(command);
+        // The cached value no longer reflects the last payload, the next one needs to be processed again
+        lastPayload = null;
 
         String mqttCommandValue = cachedValue.getMQTTpublishValue();
 
@@ -387,4 +461,16 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = connection;
     }
 
+    /**
+     * A value together with the result of the incoming transformations, replaced as a whole so that both always match
+     */
+    private static class Transformed {
+        private final String input;
+        private final String output;
+
+        private Transformed(String input, String output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
 }
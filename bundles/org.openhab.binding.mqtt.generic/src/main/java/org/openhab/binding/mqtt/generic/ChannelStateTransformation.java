@@ -18,9 +18,12 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
+import org.openhab.binding.mqtt.generic.tools.JsonPathSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+
 /**
  * A transformation for a {@link ChannelState}. It is applied for each received value on an MQTT topic.
  *
@@ -33,6 +36,8 @@ public class ChannelStateTransformation {
     private WeakReference<@Nullable TransformationService> transformationService = new WeakReference<>(null);
     final String pattern;
     final String serviceName;
+    private final @Nullable SharedJsonPayloads jsonPayloads;
+    private final @Nullable JsonPathSelector jsonPathSelector;
 
     /**
      * Creates a new channel state transformer.
@@ -44,6 +49,20 @@ public class ChannelStateTransformation {
      * @param provider The transformation service provider
      */
     public ChannelStateTransformation(String pattern, TransformationServiceProvider provider) {
+        this(pattern, provider, null);
+    }
+
+    /**
+     * Creates a new channel state transformer.
+     *
+     * @param pattern A transformation pattern, starting with the transformation service
+     *            name,followed by a colon and the transformation itself.
+     * @param provider The transformation service provider
+     * @param jsonPayloads Parsed JSON payloads, shared with other transformations. Simple JSONPATH
+     *            transformations are evaluated on the shared tree instead of parsing the payload again.
+     */
+    public ChannelStateTransformation(String pattern, TransformationServiceProvider provider,
+            @Nullable SharedJsonPayloads jsonPayloads) {
         this.provider = provider;
         int index = pattern.indexOf(':');
         if (index == -1) {
@@ -53,6 +72,10 @@ public class ChannelStateTransformation {
         String type = pattern.substring(0, index).toUpperCase();
         this.pattern = pattern.substring(index + 1);
         this.serviceName = type;
+        this.jsonPayloads = jsonPayloads;
+        this.jsonPathSelector = jsonPayloads != null && "JSONPATH".equals(type)
+                ? JsonPathSelector.compile(this.pattern)
+                : null;
     }
 
     /**
@@ -68,6 +91,8 @@ public class ChannelStateTransformation {
         this.serviceName = serviceName;
         this.pattern = pattern;
         this.provider = provider;
+        this.jsonPayloads = null;
+        this.jsonPathSelector = null;
     }
 
     /**
@@ -77,21 +102,41 @@ public class ChannelStateTransformation {
      * @return The transformed value
      */
     protected String processValue(String value) {
+        String temp = transform(value);
+        return (temp != null) ? temp : value;
+    }
+
+    /**
+     * Transforms the given value.
+     *
+     * @param value The incoming value
+     * @return The transformed value or null if the transformation service is not available or failed
+     */
+    protected @Nullable String transform(String value) {
+        final SharedJsonPayloads jsonPayloads = this.jsonPayloads;
+        final JsonPathSelector jsonPathSelector = this.jsonPathSelector;
+        if (jsonPayloads != null && jsonPathSelector != null) {
+            JsonElement tree = jsonPayloads.get(value);
+            String selected = tree != null ? jsonPathSelector.select(tree) : null;
+            if (selected != null) {
+                return selected;
+            }
+            // Not found or not a single value: Let the transformation service handle it
+        }
         TransformationService transformationService = this.transformationService.get();
         if (transformationService == null) {
             transformationService = provider.getTransformationService(serviceName);
             if (transformationService == null) {
                 logger.warn("Transformation service {} for pattern {} not found!", serviceName, pattern);
-                return value;
+                return null;
             }
             this.transformationService = new WeakReference<>(transformationService);
         }
-        String temp = null;
         try {
-            temp = transformationService.transform(pattern, value);
+            return transformationService.transform(pattern, value);
         } catch (TransformationException e) {
             logger.warn("Executing the {}-transformation failed: {}", serviceName, e.getMessage());
+            return null;
         }
-        return (temp != null) ? temp : value;
     }
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Parses JSON payloads once for all channels that extract fields of the same payload.
+ * <p>
+ * The broker connection hands a received message to every channel subscribed to the topic, one after another.
+ * If each channel extracts a different field with a JSONPATH transformation, the payload would be parsed once per
+ * channel. Instead the parsed tree of the most recent payloads is kept here and shared by all
+ * {@link ChannelStateTransformation}s.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SharedJsonPayloads {
+    private static final int MAX_PAYLOADS = 16;
+
+    private final JsonParser parser = new JsonParser();
+    private final Map<String, JsonElement> trees = new LinkedHashMap<String, JsonElement>(MAX_PAYLOADS, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonElement> eldest) {
+            return size() > MAX_PAYLOADS;
+        }
+    };
+    private long parsedPayloads;
+
+    /**
+     * Returns the parsed JSON tree of the given payload.
+     *
+     * @param payload A received payload
+     * @return The JSON tree or null if the payload is not valid JSON.
+     */
+    public synchronized @Nullable JsonElement get(String payload) {
+        JsonElement tree = trees.get(payload);
+        if (tree == null) {
+            try {
+                tree = parser.parse(payload);
+            } catch (JsonParseException e) {
+                tree = JsonNull.INSTANCE;
+            }
+            parsedPayloads++;
+            trees.put(payload, tree);
+        }
+        return tree.isJsonNull() ? null : tree;
+    }
+
+    /**
+     * Returns the number of payloads that have been parsed.
+     */
+    public synchronized long getParsedPayloads() {
+        return parsedPayloads;
+    }
+}
@@ -26,6 +26,7 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
 import org.eclipse.smarthome.core.transform.TransformationHelper;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
+import org.openhab.binding.mqtt.generic.SharedJsonPayloads;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
 import org.osgi.service.component.ComponentContext;
@@ -46,6 +47,7 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
     private @NonNullByDefault({}) MqttChannelStateDescriptionProvider stateDescriptionProvider;
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Stream
             .of(MqttBindingConstants.GENERIC_MQTT_THING).collect(Collectors.toSet());
+    private final SharedJsonPayloads jsonPayloads = new SharedJsonPayloads();
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -78,7 +80,7 @@ public class MqttThingHandlerFactory extends BaseThingHandlerFactory implements
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(MqttBindingConstants.GENERIC_MQTT_THING)) {
-            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, 1500);
+            return new GenericMQTTThingHandler(thing, stateDescriptionProvider, this, jsonPayloads, 1500);
         }
         return null;
     }
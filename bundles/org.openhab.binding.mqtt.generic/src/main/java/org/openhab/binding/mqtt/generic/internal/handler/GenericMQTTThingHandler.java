@@ -37,6 +37,7 @@ import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.ChannelStateTransformation;
 import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
+import org.openhab.binding.mqtt.generic.SharedJsonPayloads;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.values.Value;
 import org.openhab.binding.mqtt.generic.values.ValueFactory;
@@ -54,6 +55,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
     final Map<ChannelUID, ChannelState> channelStateByChannelUID = new HashMap<>();
     protected final MqttChannelStateDescriptionProvider stateDescProvider;
     protected final TransformationServiceProvider transformationServiceProvider;
+    protected final SharedJsonPayloads jsonPayloads;
 
     /**
      * Creates a new Thing handler for generic MQTT channels.
@@ -65,9 +67,25 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
      */
     public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
             TransformationServiceProvider transformationServiceProvider, int subscribeTimeout) {
+        this(thing, stateDescProvider, transformationServiceProvider, new SharedJsonPayloads(), subscribeTimeout);
+    }
+
+    /**
+     * Creates a new Thing handler for generic MQTT channels.
+     *
+     * @param thing The thing of this handler
+     * @param stateDescProvider A channel state provider
+     * @param transformationServiceProvider The transformation service provider
+     * @param jsonPayloads Parsed JSON payloads, shared by the channels of all things
+     * @param subscribeTimeout The subscribe timeout
+     */
+    public GenericMQTTThingHandler(Thing thing, MqttChannelStateDescriptionProvider stateDescProvider,
+            TransformationServiceProvider transformationServiceProvider, SharedJsonPayloads jsonPayloads,
+            int subscribeTimeout) {
         super(thing, subscribeTimeout);
         this.stateDescProvider = stateDescProvider;
         this.transformationServiceProvider = transformationServiceProvider;
+        this.jsonPayloads = jsonPayloads;
     }
 
     @Override
@@ -126,7 +144,7 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
         // Incoming value transformations
         transformations = channelConfig.transformationPattern.split("∩");
         Stream.of(transformations).filter(t -> StringUtils.isNotBlank(t))
-                .map(t -> new ChannelStateTransformation(t, transformationServiceProvider))
+                .map(t -> new ChannelStateTransformation(t, transformationServiceProvider, jsonPayloads))
                 .forEach(t -> state.addTransformation(t));
 
         // Outgoing value transformations
@@ -13,11 +13,15 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,6 +30,9 @@ import org.eclipse.jdt.annotation.Nullable;
 /**
  * Collects objects over time until a specified delay passed by.
  * Then call the user back with a list of accumulated objects and start over again.
+ * <p>
+ * Objects can be added from any thread without locking. If a maximum batch size is given, the collected objects
+ * are delivered as soon as that many are waiting, without waiting for the delay.
  *
  * @author David Graeff - Initial contribution
  *
@@ -34,10 +41,21 @@ import org.eclipse.jdt.annotation.Nullable;
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
     private final int delay;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicBoolean armed = new AtomicBoolean();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final Object deliveryLock = new Object();
     private final ScheduledExecutorService executor;
-    protected @Nullable ScheduledFuture<?> future;
+    protected volatile @Nullable ScheduledFuture<?> future;
+
+    // Statistics
+    private final AtomicLong acceptedObjects = new AtomicLong();
+    private final AtomicLong deliveredBatches = new AtomicLong();
+    private final AtomicLong fullBatches = new AtomicLong();
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
 
     /**
      * Creates a {@link DelayedBatchProcessing}.
@@ -47,12 +65,30 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
+        this(delay, 0, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds
+     * @param maxBatchSize Deliver the collected objects as soon as this many have been accumulated. 0 to only
+     *            deliver after the delay.
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         this.delay = delay;
+        this.maxBatchSize = maxBatchSize;
         this.consumer = consumer;
         this.executor = executor;
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxBatchSize < 0) {
+            throw new IllegalArgumentException("Maximum batch size must not be negative!");
+        }
     }
 
     /**
@@ -64,8 +100,17 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
     @Override
     public void accept(T t) {
         queue.add(t);
-        final ScheduledFuture<?> scheduledFuture = this.future;
-        if (scheduledFuture == null || scheduledFuture.isDone()) {
+        acceptedObjects.incrementAndGet();
+        int size = queueSize.incrementAndGet();
+        maxQueueSize.accumulateAndGet(size, Math::max);
+        if (maxBatchSize > 0 && size >= maxBatchSize) {
+            // A pending flush delivers this object as well
+            if (flushPending.compareAndSet(false, true)) {
+                fullBatches.incrementAndGet();
+                cancelTimer();
+                executor.execute(this::run);
+            }
+        } else if (armed.compareAndSet(false, true)) {
             this.future = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
         }
     }
@@ -76,46 +121,83 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      * @return A list of accumulated objects
      */
     public List<T> join() {
-        ScheduledFuture<?> scheduledFuture = this.future;
-        if (scheduledFuture != null && !scheduledFuture.isDone()) {
-            scheduledFuture.cancel(false);
-        }
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        cancelTimer();
+        return drain();
     }
 
     /**
      * Return true if there is a delayed processing going on.
      */
     public boolean isArmed() {
-        ScheduledFuture<?> scheduledFuture = this.future;
-        return scheduledFuture != null && !scheduledFuture.isDone();
+        return armed.get();
     }
 
     /**
      * Deliver queued items now to the target consumer.
      */
     public void forceProcessNow() {
+        cancelTimer();
+        run();
+    }
+
+    /**
+     * Return the number of objects added so far.
+     */
+    public long getAcceptedObjects() {
+        return acceptedObjects.get();
+    }
+
+    /**
+     * Return the number of lists delivered to the target consumer.
+     */
+    public long getDeliveredBatches() {
+        return deliveredBatches.get();
+    }
+
+    /**
+     * Return the number of times the maximum batch size was reached before the delay passed by.
+     */
+    public long getFullBatches() {
+        return fullBatches.get();
+    }
+
+    /**
+     * Return the largest number of objects that have been waiting at the same time.
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize.get();
+    }
+
+    private void cancelTimer() {
         ScheduledFuture<?> scheduledFuture = this.future;
         if (scheduledFuture != null && !scheduledFuture.isDone()) {
             scheduledFuture.cancel(false);
         }
-        run();
+        armed.set(false);
     }
 
-    private void run() {
+    private List<T> drain() {
         List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+        T t;
+        while ((t = queue.poll()) != null) {
+            lqueue.add(t);
         }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
+    }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+    private void run() {
+        // Disarm first: Objects added from here on arm the timer or request a flush again, objects added before are
+        // delivered now
+        armed.set(false);
+        flushPending.set(false);
+        // Deliveries are not interleaved, but adding objects is never blocked by a running delivery
+        synchronized (deliveryLock) {
+            List<T> lqueue = drain();
+            if (!lqueue.isEmpty()) {
+                deliveredBatches.incrementAndGet();
+                consumer.accept(lqueue);
+            }
         }
     }
 }
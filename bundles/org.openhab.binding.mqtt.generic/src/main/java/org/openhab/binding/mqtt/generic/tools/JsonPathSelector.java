@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Selects a single value of a parsed JSON tree with a simple JSONPath expression.
+ * <p>
+ * Only definite paths of member names and array indices are supported, like <code>$.device.status[0].temp</code>
+ * or <code>$['a b'].c</code>. The result is formatted like the JSONPATH transformation service would format it.
+ * Everything else (wildcards, deep scans, filters, functions) is left to the transformation service.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JsonPathSelector {
+    private final List<Object> segments;
+
+    private JsonPathSelector(List<Object> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles a JSONPath expression.
+     *
+     * @param path A JSONPath expression
+     * @return The selector or null if the expression is not a simple path.
+     */
+    public static @Nullable JsonPathSelector compile(String path) {
+        String expression = path.trim();
+        if (!expression.startsWith("$")) {
+            return null;
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < expression.length() && expression.charAt(i) != '.' && expression.charAt(i) != '[') {
+                    i++;
+                }
+                String name = expression.substring(start, i);
+                if (!isPlainName(name)) {
+                    return null;
+                }
+                segments.add(name);
+            } else if (c == '[') {
+                int end = expression.indexOf(']', i);
+                if (end == -1) {
+                    return null;
+                }
+                String content = expression.substring(i + 1, end).trim();
+                i = end + 1;
+                if (content.length() >= 2 && (content.charAt(0) == '\'' || content.charAt(0) == '"')
+                        && content.charAt(content.length() - 1) == content.charAt(0)) {
+                    String name = content.substring(1, content.length() - 1);
+                    if (name.indexOf('\\') != -1 || name.indexOf('\'') != -1 || name.indexOf('"') != -1) {
+                        return null;
+                    }
+                    segments.add(name);
+                } else if (!content.isEmpty() && content.length() < 10 && content.chars().allMatch(Character::isDigit)) {
+                    segments.add(Integer.valueOf(content));
+                } else {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return segments.isEmpty() ? null : new JsonPathSelector(segments);
+    }
+
+    private static boolean isPlainName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '*' || c == '(' || c == ')' || c == '?' || c == '@' || c == '\'' || c == '"' || c == ']'
+                    || Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Selects the value of the path.
+     *
+     * @param tree A parsed JSON tree
+     * @return The selected value or null if the path does not exist or does not point to a string, number or boolean.
+     */
+    public @Nullable String select(JsonElement tree) {
+        JsonElement element = tree;
+        for (Object segment : segments) {
+            if (segment instanceof Integer) {
+                if (!element.isJsonArray()) {
+                    return null;
+                }
+                JsonArray array = element.getAsJsonArray();
+                int index = (Integer) segment;
+                if (index >= array.size()) {
+                    return null;
+                }
+                element = array.get(index);
+            } else {
+                if (!element.isJsonObject()) {
+                    return null;
+                }
+                JsonObject object = element.getAsJsonObject();
+                JsonElement member = object.get((String) segment);
+                if (member == null) {
+                    return null;
+                }
+                element = member;
+            }
+        }
+        if (!element.isJsonPrimitive()) {
+            return null;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        return primitive.isNumber() ? formatNumber(primitive.getAsString()) : primitive.getAsString();
+    }
+
+    /**
+     * Numbers are parsed to Integer, Long, BigInteger or Double by the transformation service and then converted back
+     * to a string. Do the same, so that both yield the same result.
+     */
+    private static @Nullable String formatNumber(String number) {
+        try {
+            if (number.indexOf('.') != -1 || number.indexOf('e') != -1 || number.indexOf('E') != -1) {
+                return Double.toString(Double.parseDouble(number));
+            }
+            return new BigInteger(number).toString();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
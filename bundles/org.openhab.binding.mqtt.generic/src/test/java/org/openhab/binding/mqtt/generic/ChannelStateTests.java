@@ -156,6 +156,31 @@ public class ChannelStateTests {
         verify(channelStateUpdateListener).updateChannelState(eq(channelUID), any());
     }
 
+    @Test
+    public void receiveUnchangedPayloadTest() throws InterruptedException, ExecutionException, TimeoutException {
+        ChannelState c = spy(new ChannelState(
+                ChannelConfigBuilder.create("state", "command").withSkipUnchangedPayload(true).build(), channelUID,
+                textValue, channelStateUpdateListener));
+        c.start(connection, scheduler, 0).get(50, TimeUnit.MILLISECONDS);
+
+        c.processMessage("state", "A TEST".getBytes());
+        c.processMessage("state", "A TEST".getBytes());
+        verify(channelStateUpdateListener, times(1)).updateChannelState(eq(channelUID), any());
+        assertThat(c.getProcessedMessages(), is(1L));
+        assertThat(c.getSkippedMessages(), is(1L));
+
+        c.processMessage("state", "ANOTHER TEST".getBytes());
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(channelUID), any());
+        assertThat(textValue.getChannelState().toString(), is("ANOTHER TEST"));
+
+        // A published value replaces the cached value, the same payload has to be processed again
+        c.publishValue(new StringType("UPDATE")).get();
+        c.processMessage("state", "ANOTHER TEST".getBytes());
+        assertThat(textValue.getChannelState().toString(), is("ANOTHER TEST"));
+        assertThat(c.getProcessedMessages(), is(3L));
+        assertThat(c.getSkippedMessages(), is(1L));
+    }
+
     @Test
     public void receiveDecimalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10));
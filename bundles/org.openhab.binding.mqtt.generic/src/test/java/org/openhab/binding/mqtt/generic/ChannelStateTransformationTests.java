@@ -30,17 +30,22 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.ThingStatusInfo;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttException;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
+import org.openhab.binding.mqtt.generic.ChannelConfigBuilder;
 import org.openhab.binding.mqtt.generic.ChannelState;
 import org.openhab.binding.mqtt.generic.ChannelStateTransformation;
+import org.openhab.binding.mqtt.generic.ChannelStateUpdateListener;
 import org.openhab.binding.mqtt.generic.MqttChannelStateDescriptionProvider;
+import org.openhab.binding.mqtt.generic.SharedJsonPayloads;
 import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
 import org.openhab.binding.mqtt.generic.internal.handler.GenericMQTTThingHandler;
+import org.openhab.binding.mqtt.generic.values.TextValue;
 import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
 
 /**
@@ -68,6 +73,9 @@ public class ChannelStateTransformationTests {
     @Mock
     private MqttBrokerConnection connection;
 
+    @Mock
+    private ChannelStateUpdateListener channelStateUpdateListener;
+
     private GenericMQTTThingHandler thingHandler;
 
     @Before
@@ -132,4 +140,67 @@ public class ChannelStateTransformationTests {
         verify(callback).stateUpdated(eq(textChannelUID), argThat(arg -> "23.2".equals(arg.toString())));
         assertThat(channelConfig.getCache().getChannelState().toString(), is("23.2"));
     }
+
+    @Test
+    public void repeatedPayloadIsTransformedAgain() throws Exception {
+        // A deep scan is not evaluated on the shared JSON tree, but by the transformation service
+        when(jsonPathService.transform("$..temperature", jsonPathJSON)).thenReturn("23.2");
+
+        ChannelState channelState = new ChannelState(ChannelConfigBuilder.create("state", "command").build(),
+                textChannelUID, new TextValue(), channelStateUpdateListener);
+        channelState.addTransformation(
+                new ChannelStateTransformation("JSONPATH:$..temperature", transformationServiceProvider));
+
+        channelState.processMessage("state", jsonPathJSON.getBytes());
+        channelState.processMessage("state", jsonPathJSON.getBytes());
+
+        // Without skipUnchangedPayload the result is not reused, the transformation may depend on external state
+        verify(jsonPathService, times(2)).transform("$..temperature", jsonPathJSON);
+        verify(channelStateUpdateListener, times(2)).updateChannelState(eq(textChannelUID),
+                argThat(arg -> "23.2".equals(arg.toString())));
+        assertThat(channelState.getProcessedMessages(), is(2L));
+    }
+
+    @Test
+    public void failedTransformationIsNotRemembered() throws Exception {
+        when(jsonPathService.transform("$..temperature", jsonPathJSON))
+                .thenThrow(new TransformationException("not ready")).thenReturn("23.2");
+
+        ChannelState channelState = new ChannelState(
+                ChannelConfigBuilder.create("state", "command").withSkipUnchangedPayload(true).build(), textChannelUID,
+                new TextValue(), channelStateUpdateListener);
+        channelState.addTransformation(
+                new ChannelStateTransformation("JSONPATH:$..temperature", transformationServiceProvider));
+
+        channelState.processMessage("state", jsonPathJSON.getBytes());
+        // The same payload is not skipped, because the first one could not be transformed
+        channelState.processMessage("state", jsonPathJSON.getBytes());
+
+        verify(jsonPathService, times(2)).transform("$..temperature", jsonPathJSON);
+        verify(channelStateUpdateListener).updateChannelState(eq(textChannelUID),
+                argThat(arg -> "23.2".equals(arg.toString())));
+        assertThat(channelState.getSkippedMessages(), is(0L));
+
+        // Now that the transformation succeeded, the unchanged payload is skipped
+        channelState.processMessage("state", jsonPathJSON.getBytes());
+        verify(jsonPathService, times(2)).transform("$..temperature", jsonPathJSON);
+        assertThat(channelState.getSkippedMessages(), is(1L));
+    }
+
+    @Test
+    public void sharedPayloadIsParsedOnce() throws Exception {
+        SharedJsonPayloads jsonPayloads = new SharedJsonPayloads();
+        ChannelStateTransformation temperature = new ChannelStateTransformation(
+                "JSONPATH:$.device.status.temperature", transformationServiceProvider, jsonPayloads);
+        ChannelStateTransformation status = new ChannelStateTransformation("JSONPATH:$.device['status']",
+                transformationServiceProvider, jsonPayloads);
+        when(jsonPathService.transform("$.device['status']", jsonPathJSON)).thenReturn("{temperature=23.2}");
+
+        assertThat(temperature.processValue(jsonPathJSON), is("23.2"));
+        // Objects are not selected from the shared tree, but formatted by the transformation service
+        assertThat(status.processValue(jsonPathJSON), is("{temperature=23.2}"));
+
+        verify(jsonPathService, never()).transform(eq(jsonPathPattern), any());
+        assertThat(jsonPayloads.getParsedPayloads(), is(1L));
+    }
 }
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DelayedBatchProcessing}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelayedBatchProcessingTests {
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(4);
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Collects the delivered batches and counts down the latch for each of them
+     */
+    private Consumer<List<Integer>> record(CountDownLatch delivered) {
+        return batch -> {
+            batches.add(batch);
+            delivered.countDown();
+        };
+    }
+
+    @Test
+    public void deliverAfterDelay() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, record(delivered), scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+        assertThat(batches.size(), is(0));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertFalse(processing.isArmed());
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).size(), is(2));
+        assertThat(processing.getDeliveredBatches(), is(1L));
+    }
+
+    @Test
+    public void deliverFullBatchBeforeDelay() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 3, record(delivered),
+                scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+        processing.accept(3);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).size(), is(3));
+        assertThat(processing.getFullBatches(), is(1L));
+        assertThat(processing.getMaxQueueSize(), is(3));
+        // the delay timer of the delivered objects is canceled
+        assertFalse(processing.isArmed());
+        ScheduledFuture<?> timer = processing.future;
+        assertTrue(timer != null && timer.isCancelled());
+    }
+
+    @Test
+    public void objectsAfterFullBatchWaitForDelay() throws InterruptedException {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        CountDownLatch bothBatches = new CountDownLatch(2);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, 2, batch -> {
+            batches.add(batch);
+            firstBatch.countDown();
+            bothBatches.countDown();
+        }, scheduler);
+        processing.accept(1);
+        processing.accept(2);
+        assertTrue(firstBatch.await(5, TimeUnit.SECONDS));
+
+        processing.accept(3);
+        assertTrue(processing.isArmed());
+
+        assertTrue(bothBatches.await(5, TimeUnit.SECONDS));
+        assertThat(batches, is(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3))));
+        assertThat(processing.getFullBatches(), is(1L));
+    }
+
+    @Test
+    public void joinAndForceProcessNow() {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, batches::add, scheduler);
+        processing.accept(1);
+        assertThat(processing.join().size(), is(1));
+        assertFalse(processing.isArmed());
+
+        processing.accept(2);
+        assertTrue(processing.isArmed());
+        processing.forceProcessNow();
+        assertFalse(processing.isArmed());
+        assertThat(batches.size(), is(1));
+        assertThat(batches.get(0).get(0), is(2));
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        final int producers = 8;
+        final int objectsPerProducer = 20000;
+        AtomicBoolean interleaved = new AtomicBoolean();
+        AtomicBoolean delivering = new AtomicBoolean();
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(5, 500, batch -> {
+            if (!delivering.compareAndSet(false, true)) {
+                interleaved.set(true);
+            }
+            batches.add(batch);
+            delivering.set(false);
+        }, scheduler);
+
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                for (int i = 0; i < objectsPerProducer; i++) {
+                    processing.accept(i);
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        processing.forceProcessNow();
+
+        int delivered;
+        synchronized (batches) {
+            delivered = batches.stream().mapToInt(List::size).sum();
+        }
+        assertThat(delivered, is(producers * objectsPerProducer));
+        assertThat(processing.getAcceptedObjects(), is((long) producers * objectsPerProducer));
+        assertFalse(interleaved.get());
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.binding.mqtt.generic.SharedJsonPayloads;
+
+import com.google.gson.JsonElement;
+
+/**
+ * Tests cases for {@link JsonPathSelector} and {@link SharedJsonPayloads}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JsonPathSelectorTests {
+    private static final String PAYLOAD = "{\"temperature\": 23.20, \"humidity\": 45, \"state\": \"ON\", "
+            + "\"battery low\": false, \"device\": {\"ids\": [\"a\", \"b\"], \"last\": null}, \"big\": 12345678901}";
+
+    private final SharedJsonPayloads payloads = new SharedJsonPayloads();
+
+    private String select(String path) {
+        JsonPathSelector selector = JsonPathSelector.compile(path);
+        assertThat(selector, is(notNullValue()));
+        JsonElement tree = payloads.get(PAYLOAD);
+        assertThat(tree, is(notNullValue()));
+        return selector.select(tree);
+    }
+
+    @Test
+    public void selectValues() {
+        assertThat(select("$.temperature"), is("23.2"));
+        assertThat(select("$.humidity"), is("45"));
+        assertThat(select("$.big"), is("12345678901"));
+        assertThat(select("$.state"), is("ON"));
+        assertThat(select("$['battery low']"), is("false"));
+        assertThat(select("$.device.ids[1]"), is("b"));
+        assertThat(select("$[\"device\"]['ids'][0]"), is("a"));
+    }
+
+    @Test
+    public void notSelectable() {
+        assertThat(select("$.missing"), is(nullValue()));
+        assertThat(select("$.device"), is(nullValue()));
+        assertThat(select("$.device.ids"), is(nullValue()));
+        assertThat(select("$.device.ids[2]"), is(nullValue()));
+        assertThat(select("$.device.last"), is(nullValue()));
+        assertThat(select("$.state.value"), is(nullValue()));
+    }
+
+    @Test
+    public void notSimplePaths() {
+        assertThat(JsonPathSelector.compile("temperature"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$..temperature"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.*"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.ids[-1]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.ids[0,1]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.ids[?(@ == 'a')]"), is(nullValue()));
+        assertThat(JsonPathSelector.compile("$.device.ids.length()"), is(nullValue()));
+    }
+
+    @Test
+    public void payloadIsParsedOnce() {
+        select("$.temperature");
+        select("$.humidity");
+        select("$.state");
+        assertThat(payloads.getParsedPayloads(), is(1L));
+
+        assertThat(payloads.get("{ \"no json"), is(nullValue()));
+        assertThat(payloads.get("{ \"no json"), is(nullValue()));
+        assertThat(payloads.getParsedPayloads(), is(2L));
+    }
+}
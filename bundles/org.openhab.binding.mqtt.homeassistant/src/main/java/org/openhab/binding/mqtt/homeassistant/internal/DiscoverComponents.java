@@ -13,7 +13,9 @@
 package org.openhab.binding.mqtt.homeassistant.internal;
 
 import java.lang.ref.WeakReference;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,8 +46,10 @@ public class DiscoverComponents implements MqttMessageSubscriber {
     private final @Nullable ChannelStateUpdateListener updateListener;
     private final TransformationServiceProvider transformationServiceProvider;
 
-    protected final CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
+    protected CompletableFuture<@Nullable Void> discoverFinishedFuture = new CompletableFuture<>();
     private final Gson gson;
+    // Configuration hashes of the components that are already known
+    private final Map<HaID, Integer> knownConfigHashes = new ConcurrentHashMap<>();
 
     private @Nullable ScheduledFuture<?> stopDiscoveryFuture;
     private WeakReference<@Nullable MqttBrokerConnection> connectionRef = new WeakReference<>(null);
@@ -58,6 +62,15 @@ public class DiscoverComponents implements MqttMessageSubscriber {
      */
     public static interface ComponentDiscovered {
         void componentDiscovered(HaID homeAssistantTopicID, AbstractComponent<?> component);
+
+        /**
+         * Called instead of {@link #componentDiscovered(HaID, AbstractComponent)} if the configuration of a known
+         * component is received again without changes, see {@link DiscoverComponents#rememberConfig(HaID, int)}.
+         *
+         * @param homeAssistantTopicID The HomeAssistant topic ID of the component
+         */
+        default void componentUnchanged(HaID homeAssistantTopicID) {
+        }
     }
 
     /**
@@ -84,6 +97,21 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
         HaID haID = new HaID(topic);
         String config = new String(payload);
+        if (config.isEmpty()) {
+            // The component has been removed
+            forgetConfig(haID);
+            return;
+        }
+        Integer knownConfigHash = knownConfigHashes.get(haID);
+        if (knownConfigHash != null && knownConfigHash == config.hashCode()) {
+            // Retained configurations are received again on every reconnect
+            logger.trace("Configuration of HomeAssistant thing {} component {} unchanged", haID.objectID,
+                    haID.component);
+            if (discoveredListener != null) {
+                discoveredListener.componentUnchanged(haID);
+            }
+            return;
+        }
         AbstractComponent<?> component = CFactory.createComponent(thingUID, haID, config, updateListener, gson,
                 transformationServiceProvider);
         if (component != null) {
@@ -96,6 +124,26 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         }
     }
 
+    /**
+     * Remember the configuration of a known component. Receiving the same configuration again
+     * does not create the component again.
+     *
+     * @param haID The HomeAssistant topic ID of the component
+     * @param configHash The configuration hash, see {@link AbstractComponent#getConfigHash()}
+     */
+    public void rememberConfig(HaID haID, int configHash) {
+        knownConfigHashes.put(haID, configHash);
+    }
+
+    /**
+     * Forget the configuration of a component. The next received configuration creates the component again.
+     *
+     * @param haID The HomeAssistant topic ID of the component
+     */
+    public void forgetConfig(HaID haID) {
+        knownConfigHashes.remove(haID);
+    }
+
     /**
      * Start a components discovery.
      *
@@ -121,6 +169,10 @@ public class DiscoverComponents implements MqttMessageSubscriber {
         this.discoverTime = discoverTime;
         this.discoveredListener = componentsDiscoveredListener;
         this.connectionRef = new WeakReference<>(connection);
+        if (discoverFinishedFuture.isDone()) {
+            // A previous discovery has been stopped, e.g. because the broker connection was lost
+            discoverFinishedFuture = new CompletableFuture<>();
+        }
 
         // Subscribe to the wildcard topic and start receive MQTT retained topics
         connection.subscribe(topic, this).thenRun(this::subscribeSuccess).exceptionally(this::subscribeFail);
@@ -67,6 +67,12 @@ import com.google.gson.GsonBuilder;
 @NonNullByDefault
 public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         implements ComponentDiscovered, Consumer<List<AbstractComponent<?>>> {
+    /**
+     * Discovered components are added to the Thing in batches of at most this size, so that the channels of large
+     * devices become available without waiting for the discovery of all components.
+     */
+    private static final int MAX_COMPONENTS_PER_BATCH = 50;
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantThingHandler.class);
 
     protected final MqttChannelTypeProvider channelTypeProvider;
@@ -99,7 +105,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.channelTypeProvider = channelTypeProvider;
         this.transformationServiceProvider = transformationServiceProvider;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, MAX_COMPONENTS_PER_BATCH, this,
+                scheduler);
         this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, gson,
                 this.transformationServiceProvider);
     }
@@ -140,6 +147,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
             if (component != null) {
                 haComponents.put(component.uid().getId(), component);
                 component.addChannelTypes(channelTypeProvider);
+                discoverComponents.rememberConfig(haID, component.getConfigHash());
             } else {
                 logger.warn("Could not restore component {}", thing);
             }
@@ -225,6 +233,17 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         delayedProcessing.accept(component);
     }
 
+    /**
+     * Callback of {@link DiscoverComponents}. A known component is still announced by the device.
+     * The component has been started already, either on restoring it from the channels or when it was discovered.
+     */
+    @Override
+    public void componentUnchanged(HaID homeAssistantTopicID) {
+        if (thing.getStatus() != ThingStatus.ONLINE) {
+            updateStatus(ThingStatus.ONLINE);
+        }
+    }
+
     /**
      * Callback of {@link DelayedBatchProcessing}.
      * Add all newly discovered components to the Thing and start the components.
@@ -238,6 +257,7 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         }
 
         List<Channel> channels = new ArrayList<>();
+        boolean changed = false;
         synchronized (haComponents) { // sync whenever discoverComponents is started
             for (AbstractComponent<?> discovered : discoveredComponentsList) {
                 AbstractComponent<?> known = haComponents.get(discovered.uid().getId());
@@ -247,10 +267,13 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                         // Don't wait for the future to complete. We are also not interested in failures.
                         // The component will be replaced in a moment.
                         known.stop();
+                        known.removeChannelTypes(channelTypeProvider);
                     } else {
+                        discoverComponents.rememberConfig(discovered.getHaID(), discovered.getConfigHash());
                         continue;
                     }
                 }
+                changed = true;
 
                 // Add channel and group types to the types registry
                 channelTypeProvider.setChannelGroupType(discovered.groupTypeUID(), discovered.type());
@@ -262,6 +285,13 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
                     logger.warn("Failed to start component {}", discovered.uid(), e);
                     return null;
                 });
+                discoverComponents.rememberConfig(discovered.getHaID(), discovered.getConfigHash());
+            }
+
+            if (!changed) {
+                // Only known components with unchanged configurations: The Thing is up to date
+                updateStatus(ThingStatus.ONLINE);
+                return;
             }
 
             // Add channels to Thing
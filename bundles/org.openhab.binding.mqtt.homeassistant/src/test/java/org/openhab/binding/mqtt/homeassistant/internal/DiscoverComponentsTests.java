@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+public class DiscoverComponentsTests {
+    private static final String TOPIC = "homeassistant/switch/name/config";
+    private static final String CONFIG = "{\"name\":\"A\",\"state_topic\":\"a/state\",\"command_topic\":\"a/set\"}";
+
+    private final List<AbstractComponent<?>> discovered = new ArrayList<>();
+    private DiscoverComponents subject;
+
+    @Before
+    public void setUp() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory())
+                .create();
+        subject = new DiscoverComponents(new ThingUID("mqtt:homeassistant:broker:name"),
+                mock(ScheduledExecutorService.class), null, gson, mock(TransformationServiceProvider.class));
+        subject.discoveredListener = (haID, component) -> discovered.add(component);
+    }
+
+    @Test
+    public void unchangedConfigIsNotParsedAgain() {
+        subject.processMessage(TOPIC, CONFIG.getBytes());
+        assertThat(discovered.size(), is(1));
+        // Without remembering the component, it is created again
+        subject.processMessage(TOPIC, CONFIG.getBytes());
+        assertThat(discovered.size(), is(2));
+
+        AbstractComponent<?> component = discovered.get(0);
+        subject.rememberConfig(component.getHaID(), component.getConfigHash());
+        subject.processMessage(TOPIC, CONFIG.getBytes());
+        assertThat(discovered.size(), is(2));
+
+        // A changed configuration is parsed
+        subject.processMessage(TOPIC, CONFIG.replace("a/set", "b/set").getBytes());
+        assertThat(discovered.size(), is(3));
+
+        // A removed component is parsed again when it appears again
+        subject.processMessage(TOPIC, new byte[0]);
+        subject.processMessage(TOPIC, CONFIG.getBytes());
+        assertThat(discovered.size(), is(4));
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal.handler;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.eclipse.smarthome.core.thing.ThingStatusInfo;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openhab.binding.mqtt.generic.MqttChannelTypeProvider;
+import org.openhab.binding.mqtt.generic.TransformationServiceProvider;
+import org.openhab.binding.mqtt.handler.AbstractBrokerHandler;
+import org.openhab.binding.mqtt.homeassistant.generic.internal.MqttBindingConstants;
+import org.openhab.binding.mqtt.homeassistant.internal.AbstractComponent;
+import org.openhab.binding.mqtt.homeassistant.internal.CChannel;
+import org.openhab.binding.mqtt.homeassistant.internal.CFactory;
+import org.openhab.binding.mqtt.homeassistant.internal.ChannelConfigurationTypeAdapterFactory;
+import org.openhab.binding.mqtt.homeassistant.internal.HaID;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests cases for {@link HomeAssistantThingHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomeAssistantThingHandlerTests {
+    private static final String CONFIG_TOPIC = "homeassistant/switch/device234/config";
+    private static final String CONFIG = "{\"name\":\"A\",\"state_topic\":\"a/state\",\"command_topic\":\"a/set\"}";
+
+    private static final ThingStatusInfo BRIDGE_ONLINE = new ThingStatusInfo(ThingStatus.ONLINE,
+            ThingStatusDetail.NONE, null);
+    private static final ThingStatusInfo BRIDGE_OFFLINE = new ThingStatusInfo(ThingStatus.OFFLINE,
+            ThingStatusDetail.NONE, null);
+
+    @Mock
+    private ThingHandlerCallback callback;
+
+    @Mock
+    private AbstractBrokerHandler bridgeHandler;
+
+    @Mock
+    private MqttBrokerConnection connection;
+
+    @Mock
+    private TransformationServiceProvider transformationServiceProvider;
+
+    private Thing thing;
+
+    private HomeAssistantThingHandler thingHandler;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+
+        // A Thing with the channels of a previously discovered component, as restored after a restart
+        AbstractComponent<?> component = CFactory.createComponent(ThingChannelConstants.testHomeAssistantThing,
+                new HaID(CONFIG_TOPIC), CONFIG, null,
+                new GsonBuilder().registerTypeAdapterFactory(new ChannelConfigurationTypeAdapterFactory()).create(),
+                transformationServiceProvider);
+        List<Channel> channels = component.channelTypes().values().stream().map(CChannel::getChannel)
+                .collect(Collectors.toList());
+
+        Configuration config = new Configuration();
+        config.put("basetopic", "homeassistant");
+        config.put("objectid", "device234");
+        thing = ThingBuilder
+                .create(MqttBindingConstants.HOMEASSISTANT_MQTT_THING,
+                        ThingChannelConstants.testHomeAssistantThing.getId())
+                .withConfiguration(config).withChannels(channels).build();
+
+        // The framework sets the status of the Thing
+        doAnswer(invocation -> {
+            thing.setStatusInfo(invocation.getArgument(1));
+            return null;
+        }).when(callback).statusUpdated(any(), any());
+
+        when(bridgeHandler.getConnectionAsync()).thenReturn(CompletableFuture.completedFuture(connection));
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+
+        thingHandler = spy(new HomeAssistantThingHandler(thing, new MqttChannelTypeProvider(),
+                transformationServiceProvider, 2000, 5));
+        thingHandler.setCallback(callback);
+        doReturn(bridgeHandler).when(thingHandler).getBridgeHandler();
+        doReturn(BRIDGE_ONLINE).when(thingHandler).getBridgeStatus();
+    }
+
+    private void receiveRetainedConfig() {
+        thingHandler.discoverComponents.processMessage(CONFIG_TOPIC, CONFIG.getBytes());
+    }
+
+    @Test
+    public void restoredComponentsGoOnlineWhenAnnouncedAgain() {
+        thingHandler.initialize();
+        verify(callback).statusUpdated(eq(thing), argThat(arg -> arg.getStatus().equals(ThingStatus.OFFLINE)
+                && arg.getStatusDetail().equals(ThingStatusDetail.GONE)));
+
+        receiveRetainedConfig();
+
+        verify(callback).statusUpdated(eq(thing), argThat(arg -> arg.getStatus().equals(ThingStatus.ONLINE)));
+        // The unchanged component is neither parsed nor added again
+        verify(thingHandler, never()).componentDiscovered(any(), any());
+        verify(callback, never()).thingUpdated(any());
+    }
+
+    @Test
+    public void restoredComponentsGoOnlineAfterReconnect() {
+        thingHandler.initialize();
+        receiveRetainedConfig();
+
+        thingHandler.bridgeStatusChanged(BRIDGE_OFFLINE);
+        reset(callback);
+        doAnswer(invocation -> {
+            thing.setStatusInfo(invocation.getArgument(1));
+            return null;
+        }).when(callback).statusUpdated(any(), any());
+        thingHandler.bridgeStatusChanged(BRIDGE_ONLINE);
+        verify(callback, never()).statusUpdated(eq(thing),
+                argThat(arg -> arg.getStatus().equals(ThingStatus.ONLINE)));
+
+        receiveRetainedConfig();
+
+        verify(callback).statusUpdated(eq(thing), argThat(arg -> arg.getStatus().equals(ThingStatus.ONLINE)));
+        verify(thingHandler, never()).componentDiscovered(any(), any());
+        verify(callback, never()).thingUpdated(any());
+    }
+}
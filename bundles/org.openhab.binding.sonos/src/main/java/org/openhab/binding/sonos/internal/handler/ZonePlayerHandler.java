@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -137,6 +138,18 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<String, String>());
 
+    private static class ParsedMetaData {
+        private final String xml;
+        private final SonosMetaData metaData;
+
+        private ParsedMetaData(String xml, SonosMetaData metaData) {
+            this.xml = xml;
+            this.metaData = metaData;
+        }
+    }
+
+    private final Map<String, ParsedMetaData> parsedMetaData = new ConcurrentHashMap<>();
+
     private List<SonosMusicService> musicServices;
 
     private final Object upnpLock = new Object();
@@ -1158,28 +1171,32 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     public SonosMetaData getCurrentURIMetadata() {
-        if (stateMap.get("CurrentURIMetaData") != null && !stateMap.get("CurrentURIMetaData").isEmpty()) {
-            return SonosXMLParser.getMetaDataFromXML(stateMap.get("CurrentURIMetaData"));
-        } else {
-            return null;
-        }
+        return getMetaData("CurrentURIMetaData");
     }
 
     public SonosMetaData getTrackMetadata() {
-        if (stateMap.get("CurrentTrackMetaData") != null && !stateMap.get("CurrentTrackMetaData").isEmpty()) {
-            return SonosXMLParser.getMetaDataFromXML(stateMap.get("CurrentTrackMetaData"));
-        } else {
-            return null;
-        }
+        return getMetaData("CurrentTrackMetaData");
     }
 
     public SonosMetaData getEnqueuedTransportURIMetaData() {
-        if (stateMap.get("EnqueuedTransportURIMetaData") != null
-                && !stateMap.get("EnqueuedTransportURIMetaData").isEmpty()) {
-            return SonosXMLParser.getMetaDataFromXML(stateMap.get("EnqueuedTransportURIMetaData"));
-        } else {
+        return getMetaData("EnqueuedTransportURIMetaData");
+    }
+
+    /**
+     * The meta data variables are requested on every media update, so the parsed meta data is reused as long as
+     * the XML of the variable does not change.
+     */
+    private SonosMetaData getMetaData(String variable) {
+        String xml = stateMap.get(variable);
+        if (xml == null || xml.isEmpty()) {
             return null;
         }
+        ParsedMetaData parsed = parsedMetaData.get(variable);
+        if (parsed == null || !parsed.xml.equals(xml)) {
+            parsed = new ParsedMetaData(xml, SonosXMLParser.getMetaDataFromXML(xml));
+            parsedMetaData.put(variable, parsed);
+        }
+        return parsed.metaData;
     }
 
     public String getMACAddress() {
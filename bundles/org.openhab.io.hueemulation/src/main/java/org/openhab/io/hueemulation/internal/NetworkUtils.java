@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -82,6 +84,24 @@ public class NetworkUtils {
                 .header("Access-Control-Max-Age", "1209600");
     }
 
+    /**
+     * Creates a json response with an entity tag of the given body. Hue clients poll the same resources every few
+     * seconds. If the client sent the entity tag of the unchanged body (If-None-Match), it gets a "304 Not Modified"
+     * without content.
+     *
+     * @param request The request, to evaluate the preconditions
+     * @param body The json body
+     * @return A response with the body, or without content if not modified
+     */
+    public static Response okWithEntityTag(Request request, String body) {
+        EntityTag tag = new EntityTag(Integer.toHexString(body.hashCode()) + "-" + Integer.toHexString(body.length()));
+        ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(body).tag(tag).build();
+    }
+
     /**
      * Creates a json response with the correct Hue error code
      *
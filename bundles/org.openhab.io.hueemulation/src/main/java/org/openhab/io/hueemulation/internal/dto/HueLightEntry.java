@@ -18,6 +18,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.hueemulation.internal.DeviceType;
 import org.openhab.io.hueemulation.internal.StateUtils;
 
@@ -53,6 +54,12 @@ public class HueLightEntry {
     public @NonNullByDefault({}) transient GenericItem item;
     public transient DeviceType deviceType;
 
+    /** Serialized entry, valid as long as the item, its state and the name are the same */
+    private transient @Nullable JsonElement serialized;
+    private transient @Nullable GenericItem serializedItem;
+    private transient @Nullable State serializedState;
+    private transient @Nullable String serializedName;
+
     public static class Config {
         public final String archetype = "classicbulb";
         public final String function = "functional";
@@ -156,6 +163,8 @@ public class HueLightEntry {
 
     /**
      * This custom serializer updates the light state and label, before serializing.
+     * Hue clients poll all lights every few seconds, while the state of most items does not change in between.
+     * The serialized entry is therefore reused until the item, its state or its label changes.
      */
     @NonNullByDefault({})
     public static class Serializer implements JsonSerializer<HueLightEntry> {
@@ -165,15 +174,28 @@ public class HueLightEntry {
 
         @Override
         public JsonElement serialize(HueLightEntry product, Type type, JsonSerializationContext context) {
-
-            product.state = StateUtils.colorStateFromItemState(product.item.getState(), product.deviceType);
-            String label = product.item.getLabel();
-            if (label != null) {
-                product.name = label;
+            synchronized (product) {
+                State itemState = product.item.getState();
+                String label = product.item.getLabel();
+                if (label != null) {
+                    product.name = label;
+                }
+
+                JsonElement serialized = product.serialized;
+                if (serialized != null && product.serializedItem == product.item
+                        && product.serializedState == itemState && product.name.equals(product.serializedName)) {
+                    return serialized;
+                }
+
+                product.state = StateUtils.colorStateFromItemState(itemState, product.deviceType);
+
+                JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
+                product.serialized = jsonSubscription;
+                product.serializedItem = product.item;
+                product.serializedState = itemState;
+                product.serializedName = product.name;
+                return jsonSubscription;
             }
-
-            JsonElement jsonSubscription = context.serialize(product, HueDeviceHelper.class);
-            return jsonSubscription;
         }
     }
 
@@ -24,11 +24,14 @@ import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.KeyManagerFactory;
 
@@ -87,10 +90,17 @@ public class EmbeddedBrokerService
         implements ConfigurableService, MqttConnectionObserver, MqttServiceObserver, MqttEmbeddedBrokerStartedListener {
     private @Nullable MqttService service;
     private String persistenceFilename = "";
+    private int persistenceAutosaveInterval = 30;
     // private NetworkServerTls networkServerTls; //TODO wait for NetworkServerTls implementation
 
     @NonNullByDefault({})
     class BrokerMetricsListenerEx implements InterceptHandler {
+        private final AtomicLong publishedMessages = new AtomicLong();
+        private final Set<String> retainedTopics = ConcurrentHashMap.newKeySet();
+        // Messages of the current and the previous second, guarded by this
+        private long currentSecond;
+        private long currentSecondMessages;
+        private long previousSecondMessages;
 
         @Override
         public String getID() {
@@ -99,7 +109,8 @@ public class EmbeddedBrokerService
 
         @Override
         public Class<?>[] getInterceptedMessageTypes() {
-            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class };
+            return new Class<?>[] { InterceptConnectMessage.class, InterceptDisconnectMessage.class,
+                    InterceptConnectionLostMessage.class, InterceptPublishMessage.class };
         }
 
         @Override
@@ -109,7 +120,7 @@ public class EmbeddedBrokerService
 
         @Override
         public void onConnectionLost(InterceptConnectionLostMessage arg0) {
-
+            logger.debug("MQTT Client connection lost: {}", arg0.getClientID());
         }
 
         @Override
@@ -124,7 +135,24 @@ public class EmbeddedBrokerService
 
         @Override
         public void onPublish(InterceptPublishMessage arg0) {
-
+            publishedMessages.incrementAndGet();
+            if (arg0.isRetainFlag()) {
+                // An empty retained message removes the retained message of the topic
+                if (arg0.getPayload().readableBytes() == 0) {
+                    retainedTopics.remove(arg0.getTopicName());
+                } else {
+                    retainedTopics.add(arg0.getTopicName());
+                }
+            }
+            long second = System.currentTimeMillis() / 1000;
+            synchronized (this) {
+                if (second != currentSecond) {
+                    previousSecondMessages = second == currentSecond + 1 ? currentSecondMessages : 0;
+                    currentSecond = second;
+                    currentSecondMessages = 0;
+                }
+                currentSecondMessages++;
+            }
         }
 
         @Override
@@ -136,6 +164,32 @@ public class EmbeddedBrokerService
         public void onUnsubscribe(InterceptUnsubscribeMessage arg0) {
 
         }
+
+        /**
+         * Returns the number of messages published since the broker has been started.
+         */
+        public long getPublishedMessages() {
+            return publishedMessages.get();
+        }
+
+        /**
+         * Returns the number of messages published within the last complete second.
+         */
+        public synchronized long getMessagesPerSecond() {
+            long second = System.currentTimeMillis() / 1000;
+            if (second == currentSecond) {
+                return previousSecondMessages;
+            }
+            return second == currentSecond + 1 ? currentSecondMessages : 0;
+        }
+
+        /**
+         * Returns the number of topics with a retained message, that has been published since the broker has been
+         * started.
+         */
+        public int getRetainedMessages() {
+            return retainedTopics.size();
+        }
     }
 
     protected @Nullable Server server;
@@ -184,10 +238,16 @@ public class EmbeddedBrokerService
                 Path path = Paths.get(ConfigConstants.getUserDataFolder()).toAbsolutePath();
                 Files.createDirectories(path);
                 this.persistenceFilename = path.resolve(persistenceFilename).toString();
+            } else {
+                this.persistenceFilename = persistenceFilename;
             }
+            // The store is written to disk in this interval, a crash loses at most the changes since then
+            this.persistenceAutosaveInterval = Math.max(1, config.persistenceAutosaveInterval);
 
-            logger.info("Broker persistence file: {}", persistenceFilename);
+            logger.info("Broker persistence file: {}, written every {} seconds", this.persistenceFilename,
+                    this.persistenceAutosaveInterval);
         } else {
+            this.persistenceFilename = "";
             logger.info("Using in-memory persistence. No persistence file has been set!");
         }
 
@@ -297,7 +357,8 @@ public class EmbeddedBrokerService
 
         if (!persistenceFilename.isEmpty()) { // Persistence: If not set, an in-memory database is used.
             properties.put(BrokerConstants.PERSISTENT_STORE_PROPERTY_NAME, persistenceFilename);
-            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME, "30"); // in seconds
+            properties.put(BrokerConstants.AUTOSAVE_INTERVAL_PROPERTY_NAME,
+                    Integer.toString(persistenceAutosaveInterval)); // in seconds
         }
 
         // We may provide ACL functionality at some point as well
@@ -311,6 +372,7 @@ public class EmbeddedBrokerService
         }
 
         this.server = server;
+        metrics = new BrokerMetricsListenerEx();
         server.addInterceptHandler(metrics);
         ScheduledExecutorService s = new ScheduledThreadPoolExecutor(1);
         detectStart.startBrokerStartedDetection(port, s);
@@ -319,6 +381,8 @@ public class EmbeddedBrokerService
     public void stopEmbeddedServer() {
         Server server = this.server;
         if (server != null) {
+            logger.debug("Stopping embedded broker. Published messages: {}, retained topics: {}",
+                    metrics.getPublishedMessages(), metrics.getRetainedMessages());
             server.removeInterceptHandler(metrics);
             detectStart.stopBrokerStartDetection();
             server.stopServer();
@@ -326,6 +390,36 @@ public class EmbeddedBrokerService
         }
     }
 
+    /**
+     * Returns the number of clients connected to the embedded broker.
+     */
+    public int getConnectedClients() {
+        Server server = this.server;
+        return server == null ? 0 : server.listConnectedClients().size();
+    }
+
+    /**
+     * Returns the number of messages published within the last complete second.
+     */
+    public long getMessagesPerSecond() {
+        return metrics.getMessagesPerSecond();
+    }
+
+    /**
+     * Returns the number of messages published since the broker has been started.
+     */
+    public long getPublishedMessages() {
+        return metrics.getPublishedMessages();
+    }
+
+    /**
+     * Returns the number of topics with a retained message, that has been published since the broker has been
+     * started. Retained messages restored from the persistence file are not counted until they are published again.
+     */
+    public int getRetainedMessages() {
+        return metrics.getRetainedMessages();
+    }
+
     /**
      * For testing: Returns true if the embedded server confirms that the MqttBrokerConnection is connected.
      */
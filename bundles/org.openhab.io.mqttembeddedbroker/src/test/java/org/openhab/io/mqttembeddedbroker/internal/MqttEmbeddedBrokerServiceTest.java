@@ -183,6 +183,9 @@ public class MqttEmbeddedBrokerServiceTest extends JavaTest {
         waitForConnectionChange(c, MqttConnectionState.CONNECTED);
 
         c.publish("demotopic", "testtest".getBytes(), 2, true).get();
+        waitForAssert(() -> assertThat(subject.getRetainedMessages(), is(1)));
+        assertTrue(subject.getPublishedMessages() >= 1);
+        assertThat(subject.getConnectedClients(), is(1));
 
         // Stop server -> close persistence storage and sync it to disk
         subject.deactivate();
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+
+/**
+ * Mutable holder for a number decoded from registers
+ *
+ * Filled by {@link ModbusBitUtilities#decodeFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType,
+ * DecodedValue)}, so that values can be decoded and compared without allocating objects. Integer types are held as
+ * <code>long</code>, floating point types as <code>double</code>. Unsigned 64bit integers are held as
+ * <code>long</code> with the same bits, i.e. values above {@link Long#MAX_VALUE} are negative.
+ *
+ * Instances are not thread safe.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DecodedValue {
+
+    private static final BigInteger TWO_TO_64 = BigInteger.ONE.shiftLeft(64);
+
+    private boolean floatingPoint;
+    private boolean unsigned64;
+    private long longValue;
+    private double doubleValue;
+
+    void setLong(long value) {
+        floatingPoint = false;
+        unsigned64 = false;
+        longValue = value;
+        doubleValue = 0;
+    }
+
+    void setUnsignedLong(long value) {
+        setLong(value);
+        unsigned64 = true;
+    }
+
+    void setDouble(double value) {
+        floatingPoint = true;
+        unsigned64 = false;
+        longValue = 0;
+        doubleValue = value;
+    }
+
+    /**
+     * Whether the value is a floating point number
+     */
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    /**
+     * Get integer value. Unsigned 64bit values above {@link Long#MAX_VALUE} are returned as negative numbers.
+     */
+    public long getLong() {
+        return longValue;
+    }
+
+    /**
+     * Get floating point value. Integer values are converted to <code>double</code>.
+     */
+    public double getDouble() {
+        if (floatingPoint) {
+            return doubleValue;
+        }
+        return unsigned64 && longValue < 0 ? toBigDecimal().doubleValue() : longValue;
+    }
+
+    /**
+     * Whether the value is a number, that is, not floating point NaN or infinity
+     */
+    public boolean isNumber() {
+        return !floatingPoint || Double.isFinite(doubleValue);
+    }
+
+    /**
+     * Whether this holds the same value as the other holder
+     *
+     * @param other holder to compare to
+     * @return true if the type and value are equal
+     */
+    public boolean hasSameValue(DecodedValue other) {
+        return floatingPoint == other.floatingPoint && unsigned64 == other.unsigned64 && longValue == other.longValue
+                && Double.doubleToLongBits(doubleValue) == Double.doubleToLongBits(other.doubleValue);
+    }
+
+    /**
+     * Copy the value of the other holder to this holder
+     *
+     * @param other holder to copy from
+     */
+    public void copyFrom(DecodedValue other) {
+        floatingPoint = other.floatingPoint;
+        unsigned64 = other.unsigned64;
+        longValue = other.longValue;
+        doubleValue = other.doubleValue;
+    }
+
+    /**
+     * Convert the value to {@link DecimalType}
+     *
+     * @return value as <tt>DecimalType</tt>, or null with floating point NaN and infinity
+     */
+    public @Nullable DecimalType toDecimalType() {
+        if (floatingPoint) {
+            if (!isNumber()) {
+                return null;
+            }
+            return new DecimalType(doubleValue);
+        } else if (unsigned64 && longValue < 0) {
+            return new DecimalType(toBigDecimal());
+        } else {
+            return new DecimalType(longValue);
+        }
+    }
+
+    private BigDecimal toBigDecimal() {
+        return new BigDecimal(BigInteger.valueOf(longValue).add(TWO_TO_64));
+    }
+
+    @Override
+    public String toString() {
+        if (floatingPoint) {
+            return Double.toString(doubleValue);
+        }
+        return unsigned64 ? Long.toUnsignedString(longValue) : Long.toString(longValue);
+    }
+}
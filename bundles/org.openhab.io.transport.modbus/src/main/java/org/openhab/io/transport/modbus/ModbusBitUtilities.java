@@ -13,9 +13,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -101,6 +98,27 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        DecodedValue value = new DecodedValue();
+        decodeFromRegisters(registers, index, type, value);
+        return Optional.ofNullable(value.toDecimalType());
+    }
+
+    /**
+     * Read data from registers into the given holder
+     *
+     * Same as {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}, but without
+     * allocating any objects. The value is converted to {@link DecimalType} only when needed, with
+     * {@link DecodedValue#toDecimalType()}.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see
+     *            {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}
+     * @param type item type, e.g. unsigned 16bit integer (<tt>ModbusBindingProvider.ValueType.UINT16</tt>)
+     * @param result holder for the decoded value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static void decodeFromRegisters(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type,
+            DecodedValue result) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -111,107 +129,70 @@ public class ModbusBitUtilities {
         }
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                result.setLong((registers.getUnsignedShort(index / 16) >> (index % 16)) & 1);
+                break;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                result.setLong((byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))));
+                break;
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                result.setLong((registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff);
+                break;
+            case INT16:
+                result.setLong((short) registers.getUnsignedShort(index));
+                break;
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                result.setLong(registers.getUnsignedShort(index));
+                break;
+            case INT32:
+                result.setLong(int32(registers, index, index + 1));
+                break;
+            case UINT32:
+                result.setLong(int32(registers, index, index + 1) & 0xffffffffL);
+                break;
+            case FLOAT32:
+                result.setDouble(Float.intBitsToFloat(int32(registers, index, index + 1)));
+                break;
+            case INT64:
+                result.setLong(int64(registers, index, index + 1, index + 2, index + 3));
+                break;
+            case UINT64:
+                result.setUnsignedLong(int64(registers, index, index + 1, index + 2, index + 3));
+                break;
+            case INT32_SWAP:
+                result.setLong(int32(registers, index + 1, index));
+                break;
+            case UINT32_SWAP:
+                result.setLong(int32(registers, index + 1, index) & 0xffffffffL);
+                break;
+            case FLOAT32_SWAP:
+                result.setDouble(Float.intBitsToFloat(int32(registers, index + 1, index)));
+                break;
+            case INT64_SWAP:
+                result.setLong(int64(registers, index + 3, index + 2, index + 1, index));
+                break;
+            case UINT64_SWAP:
+                result.setUnsignedLong(int64(registers, index + 3, index + 2, index + 1, index));
+                break;
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
     }
 
+    /**
+     * Combine two registers to 32bit integer, most significant register first
+     */
+    private static int int32(ModbusRegisterArray registers, int high, int low) {
+        return (registers.getUnsignedShort(high) << 16) | registers.getUnsignedShort(low);
+    }
+
+    /**
+     * Combine four registers to 64bit integer, most significant register first
+     */
+    private static long int64(ModbusRegisterArray registers, int first, int second, int third, int fourth) {
+        return ((long) registers.getUnsignedShort(first) << 48) | ((long) registers.getUnsignedShort(second) << 32)
+                | ((long) registers.getUnsignedShort(third) << 16) | registers.getUnsignedShort(fourth);
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
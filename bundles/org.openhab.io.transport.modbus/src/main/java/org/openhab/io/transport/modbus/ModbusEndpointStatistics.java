@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Snapshot of the task queue statistics of an endpoint
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointStatistics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final int queueDepth;
+    private final long executedTasks;
+    private final long totalWaitMillis;
+    private final long maxWaitMillis;
+    private final long missedDeadlines;
+
+    public ModbusEndpointStatistics(int queueDepth, long executedTasks, long totalWaitMillis, long maxWaitMillis,
+            long missedDeadlines) {
+        this.queueDepth = queueDepth;
+        this.executedTasks = executedTasks;
+        this.totalWaitMillis = totalWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.missedDeadlines = missedDeadlines;
+    }
+
+    /**
+     * Get number of tasks waiting for execution
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Get number of tasks taken from the queue for execution
+     */
+    public long getExecutedTasks() {
+        return executedTasks;
+    }
+
+    /**
+     * Get average time the executed tasks waited in the queue, in milliseconds
+     */
+    public long getAverageWaitMillis() {
+        return executedTasks == 0 ? 0 : totalWaitMillis / executedTasks;
+    }
+
+    /**
+     * Get longest time a task waited in the queue, in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Get number of regular polls skipped since the poll of the previous period was still waiting in the queue
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("queueDepth", queueDepth)
+                .append("executedTasks", executedTasks).append("averageWaitMillis", getAverageWaitMillis())
+                .append("maxWaitMillis", maxWaitMillis).append("missedDeadlines", missedDeadlines).toString();
+    }
+}
@@ -83,6 +83,15 @@ public interface ModbusManager {
      */
     public @Nullable EndpointPoolConfiguration getEndpointPoolConfiguration(ModbusSlaveEndpoint endpoint);
 
+    /**
+     * Get statistics of the task queue of a given endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return queue depth, wait times and missed deadlines of the endpoint, or null if no task has been queued for the
+     *         endpoint
+     */
+    public @Nullable ModbusEndpointStatistics getEndpointStatistics(ModbusSlaveEndpoint endpoint);
+
     /**
      * Register listener for changes
      *
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * {@link PollTask} reading the data of several poll tasks with a single request.
+ *
+ * The request covers the ranges of all the poll tasks. The response is split into the parts requested by the
+ * individual poll tasks, which are passed to the callbacks of the poll tasks together with their original requests.
+ * Errors are reported to all the callbacks.
+ *
+ * Two instances are only equal if they are the same instance.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final BasicModbusReadRequestBlueprint request;
+    private final List<PollTask> tasks;
+    private final ModbusReadCallback callback = new DemultiplexingCallback();
+
+    /**
+     * Create a poll task reading the data of the given poll tasks
+     *
+     * @param endpoint endpoint of all the poll tasks
+     * @param request request covering the requests of all the poll tasks
+     * @param tasks poll tasks to serve with the response of the request
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, BasicModbusReadRequestBlueprint request,
+            List<PollTask> tasks) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the poll tasks served by this poll task
+     *
+     * @return poll tasks in the order of their start address
+     */
+    public List<PollTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("tasks", tasks.size()).toString();
+    }
+
+    private class DemultiplexingCallback implements ModbusReadCallback {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint coalescedRequest, ModbusRegisterArray registers) {
+            for (PollTask task : tasks) {
+                ModbusReadCallback taskCallback = task.getCallback();
+                if (taskCallback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint taskRequest = task.getRequest();
+                int offset = taskRequest.getReference() - request.getReference();
+                int length = taskRequest.getDataLength();
+                if (offset + length > registers.size()) {
+                    taskCallback.onError(taskRequest, shortResponse(registers.size()));
+                    continue;
+                }
+                ModbusRegister[] taskRegisters = new ModbusRegister[length];
+                for (int i = 0; i < length; i++) {
+                    taskRegisters[i] = registers.getRegister(offset + i);
+                }
+                taskCallback.onRegisters(taskRequest, new BasicModbusRegisterArray(taskRegisters));
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint coalescedRequest, BitArray bits) {
+            for (PollTask task : tasks) {
+                ModbusReadCallback taskCallback = task.getCallback();
+                if (taskCallback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint taskRequest = task.getRequest();
+                int offset = taskRequest.getReference() - request.getReference();
+                int length = taskRequest.getDataLength();
+                if (offset + length > bits.size()) {
+                    taskCallback.onError(taskRequest, shortResponse(bits.size()));
+                    continue;
+                }
+                BitSet taskBits = new BitSet(length);
+                for (int i = 0; i < length; i++) {
+                    taskBits.set(i, bits.getBit(offset + i));
+                }
+                taskCallback.onBits(taskRequest, new BasicBitArray(taskBits, length));
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint coalescedRequest, Exception error) {
+            for (PollTask task : tasks) {
+                @Nullable
+                ModbusReadCallback taskCallback = task.getCallback();
+                if (taskCallback != null) {
+                    taskCallback.onError(task.getRequest(), error);
+                }
+            }
+        }
+
+        private Exception shortResponse(int size) {
+            return new ModbusSlaveIOExceptionImpl(new IOException(
+                    String.format("Response to %s contained only %d items", request, size)));
+        }
+    }
+}
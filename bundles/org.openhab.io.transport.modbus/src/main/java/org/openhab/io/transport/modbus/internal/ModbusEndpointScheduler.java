@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the operations of each endpoint and executes them in the order of their priority
+ *
+ * Each endpoint has its own queue, and at most the configured number of operations of an endpoint are executed at
+ * the same time (usually one, as the endpoint can handle only one transaction at a time). Operations with the same
+ * priority are executed in the order of submission.
+ *
+ * A regular poll is queued only once: if the poll of the previous period is still waiting when the next period
+ * arrives, the poll is not queued again. The waiting poll reads the current data anyway, and the skipped period is
+ * counted as missed deadline.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusEndpointScheduler {
+
+    /**
+     * Priority of an operation, highest first
+     */
+    public enum Priority {
+        /**
+         * One-off writes, e.g. commands of the user
+         */
+        WRITE,
+        /**
+         * One-off polls, e.g. refresh commands
+         */
+        REFRESH,
+        /**
+         * Regular polls
+         */
+        POLL
+    }
+
+    private static final Comparator<QueuedOperation> EXECUTION_ORDER = Comparator
+            .<QueuedOperation, Priority> comparing(operation -> operation.priority)
+            .thenComparingLong(operation -> operation.sequence);
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusEndpointScheduler.class);
+
+    /**
+     * Operation waiting in the queue of an endpoint
+     */
+    private class QueuedOperation extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+        private final EndpointQueue queue;
+        private final Priority priority;
+        private final long sequence;
+        private final @Nullable Object periodicKey;
+        private final long queuedNanos = System.nanoTime();
+
+        private QueuedOperation(EndpointQueue queue, Priority priority, @Nullable Object periodicKey,
+                Runnable operation) {
+            super(operation, null);
+            this.queue = queue;
+            this.priority = priority;
+            this.sequence = nextSequence.getAndIncrement();
+            this.periodicKey = periodicKey;
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return other == null ? 1 : Long.compare(0, other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                queue.remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        protected void setException(@Nullable Throwable error) {
+            logger.error("Unexpected error executing operation for endpoint {}", queue.endpoint, error);
+            super.setException(error);
+        }
+    }
+
+    /**
+     * Queue and statistics of an endpoint, guarded by the queue instance
+     */
+    private class EndpointQueue {
+        private final ModbusSlaveEndpoint endpoint;
+        private final PriorityQueue<QueuedOperation> operations = new PriorityQueue<>(EXECUTION_ORDER);
+        private final Map<Object, QueuedOperation> queuedPolls = new HashMap<>();
+        private final Map<Object, QueuedOperation> runningPolls = new HashMap<>();
+        private int running;
+        private long executed;
+        private long totalWaitMillis;
+        private long maxWaitMillis;
+        private long missedDeadlines;
+
+        private EndpointQueue(ModbusSlaveEndpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private synchronized void remove(QueuedOperation operation) {
+            operations.remove(operation);
+            Object key = operation.periodicKey;
+            if (key != null) {
+                queuedPolls.remove(key, operation);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                QueuedOperation operation;
+                synchronized (this) {
+                    operation = operations.poll();
+                    if (operation == null) {
+                        running--;
+                        return;
+                    }
+                    Object key = operation.periodicKey;
+                    if (key != null) {
+                        queuedPolls.remove(key, operation);
+                        runningPolls.put(key, operation);
+                    }
+                    long waitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - operation.queuedNanos);
+                    executed++;
+                    totalWaitMillis += waitMillis;
+                    maxWaitMillis = Math.max(maxWaitMillis, waitMillis);
+                }
+                operation.run();
+                synchronized (this) {
+                    Object key = operation.periodicKey;
+                    if (key != null) {
+                        runningPolls.remove(key, operation);
+                    }
+                }
+                if (operation.isCancelled()) {
+                    // clear the interrupt of the canceled operation, so that it does not affect the next one
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private synchronized ModbusEndpointStatistics getStatistics() {
+            return new ModbusEndpointStatistics(operations.size(), executed, totalWaitMillis, maxWaitMillis,
+                    missedDeadlines);
+        }
+    }
+
+    private final Executor executor;
+    private final ToIntFunction<ModbusSlaveEndpoint> concurrency;
+    private final Map<ModbusSlaveEndpoint, EndpointQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * @param executor executor for the operations
+     * @param concurrency maximum number of operations executed at the same time, per endpoint
+     */
+    public ModbusEndpointScheduler(Executor executor, ToIntFunction<ModbusSlaveEndpoint> concurrency) {
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Queue one-off operation
+     *
+     * @param endpoint endpoint of the operation
+     * @param priority priority of the operation
+     * @param operation operation to execute
+     * @return future representing the operation
+     */
+    public ScheduledFuture<?> submit(ModbusSlaveEndpoint endpoint, Priority priority, Runnable operation) {
+        EndpointQueue queue = queues.computeIfAbsent(endpoint, EndpointQueue::new);
+        QueuedOperation queued = new QueuedOperation(queue, priority, null, operation);
+        enqueue(queue, queued);
+        return queued;
+    }
+
+    /**
+     * Queue the operation of a regular poll, unless the poll of the previous period is still waiting
+     *
+     * @param endpoint endpoint of the poll
+     * @param key identifies the regular poll
+     * @param operation operation to execute
+     * @return whether the poll was queued
+     */
+    public boolean submitPeriodic(ModbusSlaveEndpoint endpoint, Object key, Runnable operation) {
+        EndpointQueue queue = queues.computeIfAbsent(endpoint, EndpointQueue::new);
+        QueuedOperation queued;
+        synchronized (queue) {
+            if (queue.queuedPolls.containsKey(key)) {
+                queue.missedDeadlines++;
+                return false;
+            }
+            queued = new QueuedOperation(queue, Priority.POLL, key, operation);
+            queue.queuedPolls.put(key, queued);
+        }
+        enqueue(queue, queued);
+        return true;
+    }
+
+    private void enqueue(EndpointQueue queue, QueuedOperation operation) {
+        boolean startDrain;
+        synchronized (queue) {
+            queue.operations.add(operation);
+            startDrain = queue.running < Math.max(1, concurrency.applyAsInt(queue.endpoint));
+            if (startDrain) {
+                queue.running++;
+            }
+        }
+        if (startDrain) {
+            try {
+                executor.execute(queue::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (queue) {
+                    queue.running--;
+                }
+                operation.cancel(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Remove the waiting operation of a regular poll from the queue, and cancel the operation of the poll which is
+     * currently executed
+     *
+     * @param endpoint endpoint of the poll
+     * @param key identifies the regular poll, as given to {@link #submitPeriodic(ModbusSlaveEndpoint, Object, Runnable)}
+     * @param mayInterruptIfRunning whether the thread executing the poll should be interrupted
+     */
+    public void cancelPeriodic(ModbusSlaveEndpoint endpoint, Object key, boolean mayInterruptIfRunning) {
+        EndpointQueue queue = queues.get(endpoint);
+        if (queue == null) {
+            return;
+        }
+        QueuedOperation queued;
+        QueuedOperation running;
+        synchronized (queue) {
+            queued = queue.queuedPolls.get(key);
+            running = queue.runningPolls.get(key);
+        }
+        if (queued != null) {
+            queued.cancel(false);
+        }
+        if (running != null) {
+            running.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    /**
+     * Cancel all waiting operations
+     */
+    public void cancelAll() {
+        for (EndpointQueue queue : queues.values()) {
+            List<QueuedOperation> operations;
+            synchronized (queue) {
+                operations = new ArrayList<>(queue.operations);
+            }
+            operations.forEach(operation -> operation.cancel(false));
+        }
+    }
+
+    /**
+     * Get statistics of the queue of the endpoint
+     *
+     * @param endpoint endpoint to query
+     * @return statistics, or null if no operation has been queued for the endpoint
+     */
+    public @Nullable ModbusEndpointStatistics getStatistics(ModbusSlaveEndpoint endpoint) {
+        EndpointQueue queue = queues.get(endpoint);
+        return queue == null ? null : queue.getStatistics();
+    }
+
+    /**
+     * Get statistics of the queues of all endpoints
+     */
+    public Map<ModbusSlaveEndpoint, ModbusEndpointStatistics> getStatistics() {
+        Map<ModbusSlaveEndpoint, ModbusEndpointStatistics> statistics = new HashMap<>();
+        queues.forEach((endpoint, queue) -> statistics.put(endpoint, queue.getStatistics()));
+        return statistics;
+    }
+}
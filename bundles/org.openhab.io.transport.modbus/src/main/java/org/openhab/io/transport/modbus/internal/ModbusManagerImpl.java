@@ -14,6 +14,10 @@ package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,6 +41,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -54,6 +59,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler.Priority;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -77,6 +83,19 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * If read coalescing is enabled with the <code>coalesceReads</code> configuration parameter, regular polls of the
+ * same endpoint and poll period are executed together, and their requests are merged by the
+ * {@link ModbusReadRequestPlanner}. <code>coalesceReadsMaxGap</code> configures how many unrequested registers or bits
+ * may be read to merge two requests.
+ *
+ * Operations are queued per endpoint by the {@link ModbusEndpointScheduler}, which executes one-off writes before
+ * one-off polls, and those before regular polls. A regular poll that is still waiting when its next period arrives is
+ * not queued again. Queue statistics are available with {@link #getEndpointStatistics(ModbusSlaveEndpoint)}.
+ *
+ * TCP endpoints configured with more than one transaction in flight
+ * ({@link EndpointPoolConfiguration#getMaxInFlight()}) do not use the connection pool. Their transactions are executed
+ * with a {@link ModbusTCPPipeline} instead, which keeps several requests in flight on a single connection.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -91,6 +110,61 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Key of the regular polls which are executed together when read coalescing is enabled
+     */
+    private static class PollGroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final long pollPeriodMillis;
+
+        private PollGroupKey(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, pollPeriodMillis);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof PollGroupKey)) {
+                return false;
+            }
+            PollGroupKey other = (PollGroupKey) obj;
+            return pollPeriodMillis == other.pollPeriodMillis && endpoint.equals(other.endpoint);
+        }
+    }
+
+    /**
+     * Regular polls which are executed together with coalesced requests
+     *
+     * The tasks and the future are guarded by the manager instance.
+     */
+    private class PollGroup implements Runnable {
+        private final ModbusSlaveEndpoint endpoint;
+        private final ModbusReadRequestPlanner planner;
+        private final Set<PollTask> tasks = new LinkedHashSet<>();
+        private volatile List<PollTask> plan = Collections.emptyList();
+        private @Nullable ScheduledFuture<?> future;
+
+        private PollGroup(ModbusSlaveEndpoint endpoint, ModbusReadRequestPlanner planner) {
+            this.endpoint = endpoint;
+            this.planner = planner;
+        }
+
+        @Override
+        public void run() {
+            for (PollTask task : plan) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                executeOperation(task, false, pollOperation);
+            }
+        }
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -206,6 +280,179 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Transport step of an operation, i.e. how the connection is acquired and how the request is executed with it.
+     *
+     * Retries are implemented by the caller.
+     */
+    private interface ModbusTransport {
+
+        /**
+         * Acquire the connection, unless it is acquired already
+         *
+         * In case connection cannot be established, callback is called with {@link ModbusConnectionException}
+         *
+         * @return whether the connection could be acquired
+         * @throws PollTaskUnregistered
+         */
+        public boolean connect() throws PollTaskUnregistered;
+
+        /**
+         * Execute the request, and call the callback with the response
+         *
+         * All errors should be raised. There should not be any retry mechanism implemented at this level
+         *
+         * @throws Exception on IO errors, slave exception responses, and when transaction IDs of the request and
+         *             response do not match
+         */
+        public void execute()
+                throws ModbusException, IOException, ModbusUnexpectedTransactionIdException, InterruptedException;
+
+        /**
+         * Discard the connection after an error, so that new connection is acquired before new retry
+         */
+        public void invalidate();
+
+        /**
+         * Release the connection at the end of the operation
+         */
+        public void release();
+    }
+
+    /**
+     * Transport borrowing a connection from the pool for the operation
+     */
+    private class PooledTransport<R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>>
+            implements ModbusTransport {
+        private final AggregateStopWatch timer;
+        private final @NonNull T task;
+        private final boolean oneOffTask;
+        private final ModbusOperation<T> operation;
+        private Optional<ModbusSlaveConnection> connection = Optional.empty();
+
+        private PooledTransport(AggregateStopWatch timer, @NonNull T task, boolean oneOffTask,
+                ModbusOperation<T> operation) {
+            this.timer = timer;
+            this.task = task;
+            this.oneOffTask = oneOffTask;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean connect() throws PollTaskUnregistered {
+            if (!connection.isPresent()) {
+                connection = getConnection(timer, oneOffTask, task);
+            }
+            return connection.isPresent();
+        }
+
+        @Override
+        public void execute() throws ModbusException, IOException, ModbusUnexpectedTransactionIdException {
+            operation.accept(timer, task, connection.get());
+        }
+
+        @Override
+        public void invalidate() {
+            timer.connection.timeConsumer(c -> ModbusManagerImpl.this.invalidate(task.getEndpoint(), c), connection);
+            connection = Optional.empty();
+        }
+
+        @Override
+        public void release() {
+            timer.connection.timeConsumer(c -> returnConnection(task.getEndpoint(), c), connection);
+            connection = Optional.empty();
+        }
+    }
+
+    /**
+     * Transport executing the request with a pipelined connection
+     *
+     * The connection is not borrowed from the pool, so other operations can be executed with the same connection
+     * while waiting for the response. The pipeline re-establishes the connection after I/O errors by itself.
+     */
+    private class PipelinedTransport<R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>>
+            implements ModbusTransport {
+        private final AggregateStopWatch timer;
+        private final @NonNull T task;
+        private final ModbusTCPPipeline pipeline;
+
+        private PipelinedTransport(AggregateStopWatch timer, @NonNull T task, ModbusTCPPipeline pipeline) {
+            this.timer = timer;
+            this.task = task;
+            this.pipeline = pipeline;
+        }
+
+        @Override
+        public boolean connect() {
+            timer.connection.resume();
+            try {
+                pipeline.connect();
+                return true;
+            } catch (ModbusConnectionException e) {
+                R request = task.getRequest();
+                @Nullable
+                C callback = task.getCallback();
+                logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]",
+                        task.getEndpoint(), request, timer.operationId);
+                if (callback != null) {
+                    timer.callback.timeRunnable(() -> invokeCallbackWithError(request, callback, e));
+                }
+                return false;
+            } finally {
+                timer.connection.suspend();
+            }
+        }
+
+        @Override
+        public void execute()
+                throws ModbusException, IOException, ModbusUnexpectedTransactionIdException, InterruptedException {
+            R request = task.getRequest();
+            @Nullable
+            C callback = task.getCallback();
+            String operationId = timer.operationId;
+
+            ModbusRequest libRequest = request instanceof ModbusReadRequestBlueprint
+                    ? ModbusLibraryWrapper.createRequest((ModbusReadRequestBlueprint) request)
+                    : ModbusLibraryWrapper.createRequest((ModbusWriteRequestBlueprint) request);
+            logger.trace("Going execute pipelined transaction with request (FC={}): {} [operation ID {}]",
+                    libRequest.getFunctionCode(), libRequest.getHexMessage(), operationId);
+            ModbusResponse response;
+            timer.transaction.resume();
+            try {
+                response = pipeline.execute(libRequest);
+            } catch (ModbusConnectionException e) {
+                // Connection was lost and could not be re-established, handled as I/O error
+                throw new IOException(e);
+            } finally {
+                timer.transaction.suspend();
+            }
+            logger.trace("Response for request (FC={}, transaction ID={}): {} [operation ID {}]",
+                    response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
+            checkTransactionId(response, libRequest, task, operationId);
+            if (callback != null) {
+                timer.callback.timeRunnable(() -> {
+                    if (request instanceof ModbusReadRequestBlueprint) {
+                        ModbusLibraryWrapper.invokeCallbackWithResponse((ModbusReadRequestBlueprint) request,
+                                (ModbusReadCallback) callback, response);
+                    } else {
+                        invokeCallbackWithResponse((ModbusWriteRequestBlueprint) request,
+                                (ModbusWriteCallback) callback, new ModbusResponseImpl(response));
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void invalidate() {
+            // I/O errors close the connection of the pipeline already
+        }
+
+        @Override
+        public void release() {
+            // The connection is shared, nothing to release
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ModbusManagerImpl.class);
     private final Logger pollMonitorLogger = LoggerFactory
             .getLogger(ModbusManagerImpl.class.getName() + ".PollMonitor");
@@ -249,6 +496,9 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    private static final String CONFIG_COALESCE_READS = "coalesceReads";
+    private static final String CONFIG_COALESCE_READS_MAX_GAP = "coalesceReadsMaxGap";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
 
@@ -268,11 +518,28 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Groups of regular polls executed together, only used with read coalescing
+     */
+    private final Map<PollGroupKey, PollGroup> pollGroups = new HashMap<>();
+    /**
+     * Planner for coalesced reads, null if read coalescing is disabled
+     */
+    @Nullable
+    private volatile ModbusReadRequestPlanner readRequestPlanner;
+    /**
+     * Pipelined connections of the TCP endpoints with more than one transaction in flight
+     */
+    private final Map<ModbusSlaveEndpoint, ModbusTCPPipeline> pipelines = new ConcurrentHashMap<>();
     /**
      * Executor for requests
      */
     @Nullable
     private volatile ScheduledExecutorService scheduledThreadPoolExecutor;
+    /**
+     * Per-endpoint queues of the operations, ordered by priority
+     */
+    private volatile @Nullable ModbusEndpointScheduler endpointScheduler;
     private volatile Collection<ModbusManagerListener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private volatile ScheduledFuture<?> monitorFuture;
@@ -468,7 +735,14 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        boolean registered;
+        if (task instanceof CoalescedPollTask) {
+            // a coalesced read of a stale plan must not serve poll tasks which have been unregistered meanwhile
+            registered = ((CoalescedPollTask) task).getTasks().stream().allMatch(this.scheduledPollTasks::containsKey);
+        } else {
+            registered = this.scheduledPollTasks.containsKey(task);
+        }
+        if (!registered) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -485,6 +759,10 @@ public class ModbusManagerImpl implements ModbusManager {
      *
      * With some other connection types, the operation is retried without reseting the connection type.
      *
+     * TCP endpoints with more than one transaction in flight are not borrowed from the pool, but use a
+     * {@link ModbusTCPPipeline}, so other operations can be executed with the same connection while waiting for the
+     * response.
+     *
      * @param task
      * @param oneOffTask
      * @param operation
@@ -493,7 +771,6 @@ public class ModbusManagerImpl implements ModbusManager {
             @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
         AggregateStopWatch timer = new AggregateStopWatch();
         timer.total.resume();
-        String operationId = timer.operationId;
 
         ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
         if (connectionFactory == null) {
@@ -503,6 +780,29 @@ public class ModbusManagerImpl implements ModbusManager {
         }
 
         logTaskQueueInfo();
+        ModbusTCPPipeline pipeline = getPipeline(connectionFactory, task.getEndpoint());
+        ModbusTransport transport;
+        if (pipeline == null) {
+            transport = new PooledTransport<>(timer, task, oneOffTask, operation);
+        } else {
+            transport = new PipelinedTransport<>(timer, task, pipeline);
+        }
+        executeWithRetries(timer, connectionFactory, task, oneOffTask, transport);
+    }
+
+    /**
+     * Execute the request of the task with the given transport, retrying on errors
+     *
+     * @param timer aggregate stop watch for performance profiling
+     * @param connectionFactory connection factory providing the configuration of the endpoint
+     * @param task task to execute
+     * @param oneOffTask whether this is one-off, or execution of previously scheduled poll
+     * @param transport connection and transaction handling
+     */
+    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeWithRetries(
+            AggregateStopWatch timer, ModbusSlaveConnectionFactoryImpl connectionFactory, @NonNull T task,
+            boolean oneOffTask, ModbusTransport transport) {
+        String operationId = timer.operationId;
         R request = task.getRequest();
         ModbusSlaveEndpoint endpoint = task.getEndpoint();
         @Nullable
@@ -516,14 +816,13 @@ public class ModbusManagerImpl implements ModbusManager {
             throw new IllegalArgumentException("maxTries should be positive");
         }
 
-        Optional<ModbusSlaveConnection> connection = Optional.empty();
         try {
             logger.trace("Starting new operation with task {}. Trying to get connection [operation ID {}]", task,
                     operationId);
-            connection = getConnection(timer, oneOffTask, task);
+            boolean connected = transport.connect();
             logger.trace("Operation with task {}. Got a connection {} [operation ID {}]", task,
-                    connection.isPresent() ? "successfully" : "which was unconnected (connection issue)", operationId);
-            if (!connection.isPresent()) {
+                    connected ? "successfully" : "which was unconnected (connection issue)", operationId);
+            if (!connected) {
                 // Could not acquire connection, time to abort
                 // Error logged already, error callback called as well
                 logger.trace("Initial connection was not successful, aborting. [operation ID {}]", operationId);
@@ -546,7 +845,7 @@ public class ModbusManagerImpl implements ModbusManager {
             Long lastTryMillis = null;
             while (tryIndex < maxTries) {
                 logger.trace("Try {} out of {} [operation ID {}]", tryIndex + 1, maxTries, operationId);
-                if (!connection.isPresent()) {
+                if (!connected) {
                     // Connection was likely reseted with previous try, and connection was not successfully
                     // re-established. Error has been logged, time to abort.
                     logger.trace("Try {} out of {}. Connection was not successful, aborting. [operation ID {}]",
@@ -572,7 +871,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
-                    operation.accept(timer, task, connection.get());
+                    transport.execute();
                     lastError.set(null);
                     break;
                 } catch (IOException e) {
@@ -589,8 +888,8 @@ public class ModbusManagerImpl implements ModbusManager {
                                 tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                    transport.invalidate();
+                    connected = false;
                     continue;
                 } catch (ModbusIOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
@@ -606,8 +905,8 @@ public class ModbusManagerImpl implements ModbusManager {
                                 tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                    transport.invalidate();
+                    connected = false;
                     continue;
                 } catch (ModbusSlaveException e) {
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
@@ -635,8 +934,8 @@ public class ModbusManagerImpl implements ModbusManager {
                                 tryIndex, request, e.getClass().getName(), e.getMessage(), operationId);
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                    transport.invalidate();
+                    connected = false;
                     continue;
                 } catch (ModbusException e) {
                     lastError.set(e);
@@ -651,15 +950,15 @@ public class ModbusManagerImpl implements ModbusManager {
                                 tryIndex, request, e.getClass().getName(), e.getMessage(), operationId, e);
                     }
                     // Invalidate connection, and empty (so that new connection is acquired before new retry)
-                    timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-                    connection = Optional.empty();
+                    transport.invalidate();
+                    connected = false;
                     continue;
                 } finally {
                     lastTryMillis = System.currentTimeMillis();
                     // Connection was reseted in error handling and needs to be reconnected.
                     // Try to re-establish connection.
-                    if (willRetry && !connection.isPresent()) {
-                        connection = getConnection(timer, oneOffTask, task);
+                    if (willRetry && !connected) {
+                        connected = transport.connect();
                     }
                 }
             }
@@ -680,28 +979,46 @@ public class ModbusManagerImpl implements ModbusManager {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
             // Invalidate connection, and empty (so that new connection is acquired before new retry)
-            timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
-            connection = Optional.empty();
+            transport.invalidate();
         } finally {
-            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            transport.release();
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
 
+    /**
+     * Get the pipelined connection for the endpoint
+     *
+     * @return pipeline, or null if the endpoint is not a TCP endpoint with more than one transaction in flight
+     */
+    private @Nullable ModbusTCPPipeline getPipeline(ModbusSlaveConnectionFactoryImpl connectionFactory,
+            ModbusSlaveEndpoint endpoint) {
+        if (!(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            return null;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        if (configuration == null || configuration.getMaxInFlight() <= 1) {
+            return null;
+        }
+        return pipelines.computeIfAbsent(endpoint,
+                key -> new ModbusTCPPipeline((ModbusTCPSlaveEndpoint) key, configuration.getMaxInFlight(),
+                        configuration.getConnectTimeoutMillis(), ModbusTCPPipeline.DEFAULT_RESPONSE_TIMEOUT_MILLIS));
+    }
+
     @Override
     public ScheduledFuture<?> submitOneTimePoll(PollTask task) {
-        ScheduledExecutorService executor = scheduledThreadPoolExecutor;
-        Objects.requireNonNull(executor, "Not activated!");
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        Objects.requireNonNull(scheduler, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
+        ScheduledFuture<?> future = scheduler.submit(task.getEndpoint(), Priority.REFRESH, () -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
+            logger.debug("Will now execute one-off poll task {}, waited in queue for {}", task,
                     millisInThreadPoolWaiting);
             executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        });
         return future;
     }
 
@@ -716,7 +1033,12 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
+            ModbusReadRequestPlanner planner = readRequestPlanner;
+            if (planner != null) {
+                registerCoalescedPoll(executor, planner, task, pollPeriodMillis, initialDelayMillis);
+                return;
+            }
+            Runnable poll = () -> {
                 long started = System.currentTimeMillis();
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
@@ -725,7 +1047,10 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.debug(
                         "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
                         pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+            };
+            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(
+                    () -> submitRegularPoll(task.getEndpoint(), task, pollPeriodMillis, poll), initialDelayMillis,
+                    pollPeriodMillis, TimeUnit.MILLISECONDS);
 
             scheduledPollTasks.put(task, future);
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
@@ -733,6 +1058,68 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    /**
+     * Queue the regular poll, unless the poll of the previous period is still waiting in the queue
+     *
+     * @param key poll task, or poll group with read coalescing
+     */
+    private void submitRegularPoll(ModbusSlaveEndpoint endpoint, Object key, long pollPeriodMillis, Runnable poll) {
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        if (scheduler == null) {
+            return;
+        }
+        if (!scheduler.submitPeriodic(endpoint, key, poll)) {
+            logger.debug("Scheduled ({}ms) poll {} is still waiting from the previous period, skipping this period",
+                    pollPeriodMillis, key);
+        }
+    }
+
+    /**
+     * Add the poll task to the group of its endpoint and poll period, and plan the reads of the group again
+     *
+     * The group is scheduled when its first poll task is added. Later poll tasks join the existing schedule, so that
+     * adding a poll task does not delay the polls of the group.
+     */
+    private void registerCoalescedPoll(ScheduledExecutorService executor, ModbusReadRequestPlanner planner,
+            PollTask task, long pollPeriodMillis, long initialDelayMillis) {
+        PollGroup group = pollGroups.computeIfAbsent(new PollGroupKey(task.getEndpoint(), pollPeriodMillis),
+                key -> new PollGroup(key.endpoint, planner));
+        group.tasks.add(task);
+        group.plan = group.planner.plan(group.tasks);
+        ScheduledFuture<?> future = group.future;
+        if (future == null) {
+            future = executor.scheduleWithFixedDelay(
+                    () -> submitRegularPoll(group.endpoint, group, pollPeriodMillis, group), initialDelayMillis,
+                    pollPeriodMillis, TimeUnit.MILLISECONDS);
+            group.future = future;
+        }
+        scheduledPollTasks.put(task, future);
+        logger.trace("Registered poll task {} with period {} using initial delay {}. Poll tasks {} are read with {}",
+                task, pollPeriodMillis, initialDelayMillis, group.tasks.size(), group.plan);
+    }
+
+    /**
+     * Remove the poll task from its group
+     *
+     * @return the key the poll was queued with if it should be canceled, i.e. the poll task itself without read
+     *         coalescing or the group if it has no poll tasks left, and null if the group still has poll tasks
+     */
+    private @Nullable Object unregisterCoalescedPoll(PollTask task) {
+        for (Map.Entry<PollGroupKey, PollGroup> entry : pollGroups.entrySet()) {
+            PollGroup group = entry.getValue();
+            if (!group.tasks.remove(task)) {
+                continue;
+            }
+            if (group.tasks.isEmpty()) {
+                pollGroups.remove(entry.getKey());
+                return group;
+            }
+            group.plan = group.planner.plan(group.tasks);
+            return null;
+        }
+        return task;
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -756,7 +1143,15 @@ public class ModbusManagerImpl implements ModbusManager {
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            Object pollKey = unregisterCoalescedPoll(task);
+            if (pollKey != null) {
+                future.cancel(true);
+                // remove the poll from the queue of the endpoint, and interrupt it if it is currently executed
+                ModbusEndpointScheduler scheduler = endpointScheduler;
+                if (scheduler != null) {
+                    scheduler.cancelPeriodic(task.getEndpoint(), pollKey, true);
+                }
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -777,16 +1172,16 @@ public class ModbusManagerImpl implements ModbusManager {
 
     @Override
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task) {
-        ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
-        Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        Objects.requireNonNull(scheduler, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
+        ScheduledFuture<?> future = scheduler.submit(task.getEndpoint(), Priority.WRITE, () -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
+            logger.debug("Will now execute one-off write task {}, waited in queue for {}", task,
                     millisInThreadPoolWaiting);
             executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
+        });
         return future;
     }
 
@@ -795,6 +1190,11 @@ public class ModbusManagerImpl implements ModbusManager {
             @Nullable EndpointPoolConfiguration configuration) {
         Objects.requireNonNull(connectionFactory, "Not activated!");
         connectionFactory.setEndpointPoolConfiguration(endpoint, configuration);
+        // pipelined connection is created again with the new configuration when needed
+        ModbusTCPPipeline pipeline = pipelines.remove(endpoint);
+        if (pipeline != null) {
+            pipeline.close();
+        }
         for (ModbusManagerListener listener : listeners) {
             listener.onEndpointPoolConfigurationSet(endpoint, configuration);
         }
@@ -806,6 +1206,26 @@ public class ModbusManagerImpl implements ModbusManager {
         return connectionFactory.getEndpointPoolConfiguration(endpoint);
     }
 
+    @Override
+    public @Nullable ModbusEndpointStatistics getEndpointStatistics(ModbusSlaveEndpoint endpoint) {
+        ModbusEndpointScheduler scheduler = endpointScheduler;
+        return scheduler == null ? null : scheduler.getStatistics(endpoint);
+    }
+
+    /**
+     * Maximum number of operations of the endpoint executed at the same time
+     *
+     * Only TCP endpoints with pipelined transactions can execute more than one operation at a time.
+     */
+    private int getConcurrency(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (connectionFactory == null || !(endpoint instanceof ModbusTCPSlaveEndpoint)) {
+            return 1;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return configuration == null ? 1 : Math.max(1, configuration.getMaxInFlight());
+    }
+
     @Override
     public void addListener(ModbusManagerListener listener) {
         listeners.add(listener);
@@ -825,6 +1245,19 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            if (Boolean.parseBoolean(String.valueOf(configProperties.get(CONFIG_COALESCE_READS)))) {
+                Object maxGap = configProperties.get(CONFIG_COALESCE_READS_MAX_GAP);
+                int gap = 0;
+                try {
+                    gap = maxGap == null ? 0 : Math.max(0, Integer.parseInt(maxGap.toString().trim()));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid value '{}' for {}, using 0", maxGap, CONFIG_COALESCE_READS_MAX_GAP);
+                }
+                readRequestPlanner = new ModbusReadRequestPlanner(gap);
+                logger.debug("Read coalescing enabled with maximum gap {}", gap);
+            } else {
+                readRequestPlanner = null;
+            }
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -837,6 +1270,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.error("Thread pool is shut down! Aborting activation of ModbusMangerImpl");
                 throw new IllegalStateException("Thread pool(s) shut down! Aborting activation of ModbusMangerImpl");
             }
+            endpointScheduler = new ModbusEndpointScheduler(scheduledThreadPoolExecutor, this::getConcurrency);
             monitorFuture = scheduledThreadPoolExecutor.scheduleWithFixedDelay(this::logTaskQueueInfo, 0,
                     MONITOR_QUEUE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
         }
@@ -856,6 +1290,15 @@ public class ModbusManagerImpl implements ModbusManager {
                 this.connectionPool = connectionPool = null;
             }
 
+            ModbusEndpointScheduler scheduler = endpointScheduler;
+            if (scheduler != null) {
+                scheduler.cancelAll();
+                endpointScheduler = null;
+            }
+
+            pipelines.values().forEach(ModbusTCPPipeline::close);
+            pipelines.clear();
+
             if (monitorFuture != null) {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
@@ -887,6 +1330,16 @@ public class ModbusManagerImpl implements ModbusManager {
                         task.getRequest().getDataLength(), future.isDone(), future.isCancelled(),
                         future.getDelay(TimeUnit.MILLISECONDS), task);
             });
+            ModbusEndpointScheduler scheduler = endpointScheduler;
+            if (scheduler != null) {
+                scheduler.getStatistics().forEach((endpoint, statistics) -> {
+                    pollMonitorLogger.trace("POLL MONITOR: endpoint {} queue: {}", endpoint, statistics);
+                    if (statistics.getQueueDepth() >= WARN_QUEUE_SIZE) {
+                        pollMonitorLogger.warn("Many ({}) tasks queued for endpoint {}! The endpoint cannot keep up.",
+                                statistics.getQueueDepth(), endpoint);
+                    }
+                });
+            }
             if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
                 ThreadPoolExecutor executor = ((ThreadPoolExecutor) scheduledThreadPoolExecutor);
                 pollMonitorLogger.trace(
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner merging poll tasks into as few requests as possible
+ *
+ * Poll tasks with the same endpoint, unit id and function code are sorted by their start address and merged into a
+ * single {@link CoalescedPollTask} as long as
+ * <ul>
+ * <li>the number of unrequested registers or bits between them does not exceed the configured gap, and</li>
+ * <li>the merged request does not exceed the maximum length of a single Modbus read request.</li>
+ * </ul>
+ *
+ * Overlapping requests are always merged (within the length limit). Poll tasks which cannot be merged with any
+ * other task are returned as is.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class ModbusReadRequestPlanner {
+
+    /**
+     * Maximum number of registers in a single read request (function codes 3 and 4)
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs in a single read request (function codes 1 and 2)
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    private static class GroupKey {
+        private final ModbusSlaveEndpoint endpoint;
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        private GroupKey(PollTask task) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, unitId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode && endpoint.equals(other.endpoint);
+        }
+    }
+
+    private final int maxGap;
+
+    /**
+     * @param maxGap maximum number of unrequested registers or bits between two requests which are merged
+     */
+    public ModbusReadRequestPlanner(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap should be non-negative");
+        }
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Get the maximum number of registers or bits which can be read with a single request
+     *
+     * @param functionCode function code of the request
+     * @return maximum data length of the request
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            default:
+                return MAX_REGISTERS_PER_READ;
+        }
+    }
+
+    /**
+     * Plan the requests for the given poll tasks
+     *
+     * @param tasks poll tasks to execute
+     * @return poll tasks to execute instead, either original poll tasks or {@link CoalescedPollTask}s serving several
+     *         of them
+     */
+    public List<PollTask> plan(Collection<PollTask> tasks) {
+        Map<GroupKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new GroupKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> plan = new ArrayList<>(tasks.size());
+        for (Map.Entry<GroupKey, List<PollTask>> group : groups.entrySet()) {
+            List<PollTask> groupTasks = group.getValue();
+            if (groupTasks.size() == 1) {
+                plan.addAll(groupTasks);
+                continue;
+            }
+            groupTasks.sort(Comparator.comparingInt((PollTask task) -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            int maxLength = getMaxDataLength(group.getKey().functionCode);
+
+            List<PollTask> frame = new ArrayList<>();
+            int frameStart = 0;
+            int frameEnd = 0;
+            for (PollTask task : groupTasks) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                if (!frame.isEmpty() && start <= frameEnd + maxGap
+                        && Math.max(frameEnd, end) - frameStart <= maxLength) {
+                    frame.add(task);
+                    frameEnd = Math.max(frameEnd, end);
+                    continue;
+                }
+                addFrame(plan, group.getKey(), frame, frameStart, frameEnd);
+                frame = new ArrayList<>();
+                frame.add(task);
+                frameStart = start;
+                frameEnd = end;
+            }
+            addFrame(plan, group.getKey(), frame, frameStart, frameEnd);
+        }
+        return plan;
+    }
+
+    private static void addFrame(List<PollTask> plan, GroupKey key, List<PollTask> frame, int start, int end) {
+        if (frame.isEmpty()) {
+            return;
+        } else if (frame.size() == 1) {
+            plan.add(frame.get(0));
+            return;
+        }
+        int maxTries = frame.stream().mapToInt(PollTask::getMaxTries).max().getAsInt();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(key.unitId, key.functionCode,
+                start, end - start, maxTries);
+        plan.add(new CoalescedPollTask(key.endpoint, request, frame));
+    }
+}
@@ -0,0 +1,307 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.wimpi.modbus.Modbus;
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.msg.ExceptionResponse;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+
+/**
+ * Modbus TCP connection with several transactions in flight
+ *
+ * Requests are written to a single socket as soon as they are executed, without waiting for the responses of the
+ * previous requests. Each request gets its own transaction id, and a reader thread passes the responses to the
+ * waiting requests by their transaction id. The number of requests waiting for a response is limited by the
+ * configured maximum.
+ *
+ * The connection is established on the first request and after an I/O error, which fails all requests in flight.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPPipeline implements AutoCloseable {
+
+    /**
+     * Time to wait for the response of a request
+     */
+    public static final int DEFAULT_RESPONSE_TIMEOUT_MILLIS = Modbus.DEFAULT_TIMEOUT;
+
+    /**
+     * Length of the MBAP header up to and including the length field
+     */
+    private static final int HEADER_LENGTH = 6;
+
+    /**
+     * Maximum length of the unit id and PDU of a Modbus TCP frame
+     */
+    private static final int MAX_FRAME_DATA_LENGTH = 254;
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusTCPPipeline.class);
+
+    /**
+     * Socket with its pending transactions
+     */
+    private class Connection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final Map<Integer, CompletableFuture<ModbusResponse>> pending = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+        }
+
+        private void write(byte[] frame) throws IOException {
+            synchronized (out) {
+                out.write(frame);
+                out.flush();
+            }
+        }
+
+        private void read() {
+            try {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                while (!closed) {
+                    byte[] frame = readFrame(in);
+                    int functionCode = frame[HEADER_LENGTH + 1] & 0xFF;
+                    ModbusResponse response = ModbusResponse.createModbusResponse(functionCode);
+                    response.readFrom(new DataInputStream(new ByteArrayInputStream(frame)));
+                    CompletableFuture<ModbusResponse> future = pending.remove(response.getTransactionID());
+                    if (future != null) {
+                        future.complete(response);
+                    } else {
+                        logger.debug("Ignoring response with unexpected transaction id {} from {}",
+                                response.getTransactionID(), endpoint);
+                    }
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.debug("Error reading from {}: {} {}", endpoint, e.getClass().getName(), e.getMessage());
+                    fail(this, e);
+                }
+            }
+        }
+
+        private void close() {
+            closed = true;
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.debug("Error closing connection to {}: {}", endpoint, e.getMessage());
+            }
+        }
+    }
+
+    private final ModbusTCPSlaveEndpoint endpoint;
+    private final int maxInFlight;
+    private final int connectTimeoutMillis;
+    private final int responseTimeoutMillis;
+    private final Semaphore inFlight;
+    private final AtomicInteger lastTransactionId = new AtomicInteger();
+
+    private @Nullable Connection connection;
+
+    /**
+     * @param endpoint endpoint to connect to
+     * @param maxInFlight maximum number of requests waiting for a response
+     * @param connectTimeoutMillis timeout for establishing the connection, 0 for the system default
+     * @param responseTimeoutMillis time to wait for the response of a request
+     */
+    public ModbusTCPPipeline(ModbusTCPSlaveEndpoint endpoint, int maxInFlight, int connectTimeoutMillis,
+            int responseTimeoutMillis) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight should be positive");
+        }
+        this.endpoint = endpoint;
+        this.maxInFlight = maxInFlight;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.responseTimeoutMillis = responseTimeoutMillis;
+        this.inFlight = new Semaphore(maxInFlight, true);
+    }
+
+    public ModbusTCPSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Execute the request and wait for its response
+     *
+     * The transaction id of the request is overwritten.
+     *
+     * @param request request to execute
+     * @return response of the slave
+     * @throws ModbusConnectionException when the connection cannot be established
+     * @throws ModbusSlaveException when the slave responds with an exception response
+     * @throws IOException on I/O errors and when no response is received in time
+     * @throws InterruptedException when interrupted while waiting for the response
+     */
+    public ModbusResponse execute(ModbusRequest request)
+            throws ModbusConnectionException, ModbusSlaveException, IOException, InterruptedException {
+        inFlight.acquire();
+        try {
+            Connection connection = getConnection();
+            CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+            int transactionId;
+            do {
+                transactionId = lastTransactionId.incrementAndGet() & 0xFFFF;
+            } while (connection.pending.putIfAbsent(transactionId, future) != null);
+            try {
+                request.setTransactionID(transactionId);
+                try {
+                    connection.write(toFrame(request));
+                } catch (IOException e) {
+                    fail(connection, e);
+                    throw e;
+                }
+                ModbusResponse response = future.get(responseTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (response instanceof ExceptionResponse) {
+                    throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+                }
+                return response;
+            } catch (TimeoutException e) {
+                throw new SocketTimeoutException(String.format("No response for transaction %d from %s within %d ms",
+                        transactionId, endpoint, responseTimeoutMillis));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                throw new IOException(cause);
+            } finally {
+                connection.pending.remove(transactionId, future);
+            }
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Establish the connection, unless it is established already
+     *
+     * @throws ModbusConnectionException when the connection cannot be established
+     */
+    public void connect() throws ModbusConnectionException {
+        getConnection();
+    }
+
+    private synchronized Connection getConnection() throws ModbusConnectionException {
+        Connection connection = this.connection;
+        if (connection != null) {
+            return connection;
+        }
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(endpoint.getAddress(), endpoint.getPort()), connectTimeoutMillis);
+            connection = new Connection(socket);
+        } catch (IOException e) {
+            logger.warn("Could not connect to {}: {} {}", endpoint, e.getClass().getName(), e.getMessage());
+            try {
+                socket.close();
+            } catch (IOException closeError) {
+                // ignore, connection failed already
+            }
+            throw new ModbusConnectionException(endpoint);
+        }
+        Thread reader = new Thread(connection::read,
+                "modbus-pipeline-" + endpoint.getAddress() + ":" + endpoint.getPort());
+        reader.setDaemon(true);
+        reader.start();
+        this.connection = connection;
+        logger.debug("Connected to {} with at most {} transactions in flight", endpoint, maxInFlight);
+        return connection;
+    }
+
+    /**
+     * Close the connection and fail all its pending requests
+     */
+    private void fail(Connection failed, IOException error) {
+        synchronized (this) {
+            if (connection == failed) {
+                connection = null;
+            }
+        }
+        failed.close();
+        failed.pending.values().forEach(future -> future.completeExceptionally(error));
+    }
+
+    /**
+     * Close the connection, failing all requests in flight
+     */
+    @Override
+    public void close() {
+        Connection connection;
+        synchronized (this) {
+            connection = this.connection;
+            this.connection = null;
+        }
+        if (connection != null) {
+            connection.close();
+            IOException error = new IOException("Connection closed");
+            connection.pending.values().forEach(future -> future.completeExceptionally(error));
+        }
+    }
+
+    private static byte[] toFrame(ModbusRequest request) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + request.getDataLength());
+        DataOutputStream out = new DataOutputStream(bytes);
+        request.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] readFrame(DataInputStream in) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        in.readFully(header);
+        int length = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+        if (length < 2 || length > MAX_FRAME_DATA_LENGTH) {
+            throw new IOException(String.format("Invalid length %d in Modbus TCP header", length));
+        }
+        byte[] frame = new byte[HEADER_LENGTH + length];
+        System.arraycopy(header, 0, frame, 0, HEADER_LENGTH);
+        in.readFully(frame, HEADER_LENGTH, length);
+        return frame;
+    }
+}
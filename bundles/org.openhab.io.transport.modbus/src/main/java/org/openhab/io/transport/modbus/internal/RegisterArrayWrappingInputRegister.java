@@ -12,10 +12,8 @@
  */
 package org.openhab.io.transport.modbus.internal;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.io.transport.modbus.ModbusRegister;
 import org.openhab.io.transport.modbus.ModbusRegisterArray;
 
@@ -62,15 +60,26 @@ public class RegisterArrayWrappingInputRegister implements ModbusRegisterArray {
     }
 
     private InputRegister[] wrapped;
-    private Map<Integer, ModbusRegister> cache = new HashMap<>();
+    private @Nullable ModbusRegister[] cache;
 
     public RegisterArrayWrappingInputRegister(InputRegister[] wrapped) {
         this.wrapped = wrapped;
+        this.cache = new ModbusRegister[wrapped.length];
     }
 
     @Override
     public ModbusRegister getRegister(int index) {
-        return cache.computeIfAbsent(index, i -> new RegisterReference(i));
+        ModbusRegister register = cache[index];
+        if (register == null) {
+            register = new RegisterReference(index);
+            cache[index] = register;
+        }
+        return register;
+    }
+
+    @Override
+    public int getUnsignedShort(int index) {
+        return wrapped[index].toUnsignedShort();
     }
 
     @Override
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.DecodedValue;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+public class BitUtilitiesDecodeFromRegistersTest {
+
+    private final DecodedValue value = new DecodedValue();
+
+    @Test
+    public void testIntegerTypes() {
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(0xFFFE, 0x8001, 0x0102, 0x0304);
+
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.INT16, value);
+        assertThat(value.getLong(), is(equalTo(-2L)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.UINT16, value);
+        assertThat(value.getLong(), is(equalTo(0xFFFEL)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 1, ValueType.INT8, value);
+        assertThat(value.getLong(), is(equalTo(-1L)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 2, ValueType.UINT8, value);
+        assertThat(value.getLong(), is(equalTo(1L)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 1, ValueType.INT32, value);
+        assertThat(value.getLong(), is(equalTo((long) 0x80010102)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 1, ValueType.UINT32_SWAP, value);
+        assertThat(value.getLong(), is(equalTo(0x01028001L)));
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.INT64_SWAP, value);
+        assertThat(value.getLong(), is(equalTo(0x030401028001FFFEL)));
+        assertThat(value.isFloatingPoint(), is(false));
+    }
+
+    @Test
+    public void testUnsigned64AboveLongRange() {
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(0xFFFF, 0xFFFF, 0xFFFF, 0xFFFF);
+
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.UINT64, value);
+        assertThat(value.getLong(), is(equalTo(-1L)));
+        assertThat(value.toString(), is(equalTo("18446744073709551615")));
+        assertThat(value.toDecimalType(), is(equalTo(new DecimalType(new BigDecimal("18446744073709551615")))));
+    }
+
+    @Test
+    public void testFloatingPoint() {
+        ModbusBitUtilities.decodeFromRegisters(new BasicModbusRegisterArray(0x3FC0, 0x0000), 0, ValueType.FLOAT32,
+                value);
+        assertThat(value.isFloatingPoint(), is(true));
+        assertThat(value.getDouble(), is(equalTo(1.5)));
+        assertThat(value.isNumber(), is(true));
+
+        // NaN
+        ModbusBitUtilities.decodeFromRegisters(new BasicModbusRegisterArray(0x0000, 0x7FC0), 0,
+                ValueType.FLOAT32_SWAP, value);
+        assertThat(value.isNumber(), is(false));
+        assertThat(value.toDecimalType(), is(nullValue()));
+    }
+
+    @Test
+    public void testSameValue() {
+        DecodedValue other = new DecodedValue();
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(5, 0, 5);
+
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.UINT16, value);
+        ModbusBitUtilities.decodeFromRegisters(registers, 2, ValueType.UINT16, other);
+        assertThat(value.hasSameValue(other), is(true));
+
+        ModbusBitUtilities.decodeFromRegisters(registers, 1, ValueType.UINT16, other);
+        assertThat(value.hasSameValue(other), is(false));
+
+        other.copyFrom(value);
+        assertThat(value.hasSameValue(other), is(true));
+
+        // same bits interpreted as float are not the same value
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.FLOAT32, other);
+        ModbusBitUtilities.decodeFromRegisters(registers, 0, ValueType.INT32, value);
+        assertThat(value.hasSameValue(other), is(false));
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusEndpointStatistics;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler;
+import org.openhab.io.transport.modbus.internal.ModbusEndpointScheduler.Priority;
+
+public class ModbusEndpointSchedulerTest {
+
+    private static final ModbusSlaveEndpoint ENDPOINT = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private static final ModbusSlaveEndpoint OTHER_ENDPOINT = new ModbusTCPSlaveEndpoint("localhost", 503);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch blocking = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private Runnable record(String name, CountDownLatch done) {
+        return () -> {
+            executed.add(name);
+            done.countDown();
+        };
+    }
+
+    /**
+     * Occupy the endpoint until {@link #release} is counted down
+     */
+    private Future<?> block(ModbusEndpointScheduler scheduler, ModbusSlaveEndpoint endpoint) throws Exception {
+        Future<?> future = scheduler.submit(endpoint, Priority.POLL, () -> {
+            blocking.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(blocking.await(10, TimeUnit.SECONDS), is(true));
+        return future;
+    }
+
+    @Test
+    public void testOperationsAreExecutedByPriority() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        block(scheduler, ENDPOINT);
+
+        CountDownLatch done = new CountDownLatch(4);
+        scheduler.submitPeriodic(ENDPOINT, "poll1", record("poll1", done));
+        scheduler.submit(ENDPOINT, Priority.REFRESH, record("refresh", done));
+        scheduler.submitPeriodic(ENDPOINT, "poll2", record("poll2", done));
+        scheduler.submit(ENDPOINT, Priority.WRITE, record("write", done));
+        assertThat(executed.isEmpty(), is(true));
+
+        release.countDown();
+        assertThat(done.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(executed, is(equalTo(Arrays.asList("write", "refresh", "poll1", "poll2"))));
+    }
+
+    @Test
+    public void testPeriodicPollIsQueuedOnlyOnce() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        block(scheduler, ENDPOINT);
+
+        CountDownLatch first = new CountDownLatch(1);
+        assertThat(scheduler.submitPeriodic(ENDPOINT, "poll", record("poll", first)), is(true));
+        assertThat(scheduler.submitPeriodic(ENDPOINT, "poll", record("poll", first)), is(false));
+        assertThat(scheduler.submitPeriodic(ENDPOINT, "poll", record("poll", first)), is(false));
+
+        ModbusEndpointStatistics statistics = scheduler.getStatistics(ENDPOINT);
+        assertThat(statistics.getQueueDepth(), is(equalTo(1)));
+        assertThat(statistics.getMissedDeadlines(), is(equalTo(2L)));
+
+        release.countDown();
+        assertThat(first.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(executed, is(equalTo(Arrays.asList("poll"))));
+
+        // once taken from the queue, the poll is queued again
+        CountDownLatch second = new CountDownLatch(1);
+        assertThat(scheduler.submitPeriodic(ENDPOINT, "poll", record("poll", second)), is(true));
+        assertThat(second.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(executed, is(equalTo(Arrays.asList("poll", "poll"))));
+    }
+
+    @Test
+    public void testEndpointsAreIndependent() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        block(scheduler, ENDPOINT);
+
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.submit(OTHER_ENDPOINT, Priority.POLL, record("other", done)).get(10, TimeUnit.SECONDS);
+        assertThat(executed, is(equalTo(Arrays.asList("other"))));
+        assertThat(scheduler.getStatistics(ENDPOINT).getExecutedTasks(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testCancelRemovesFromQueue() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        block(scheduler, ENDPOINT);
+
+        CountDownLatch done = new CountDownLatch(1);
+        Future<?> write = scheduler.submit(ENDPOINT, Priority.WRITE, record("write", done));
+        scheduler.submitPeriodic(ENDPOINT, "poll", record("poll", done));
+        assertThat(scheduler.getStatistics(ENDPOINT).getQueueDepth(), is(equalTo(2)));
+
+        write.cancel(false);
+        scheduler.cancelPeriodic(ENDPOINT, "poll", false);
+        assertThat(scheduler.getStatistics(ENDPOINT).getQueueDepth(), is(equalTo(0)));
+
+        // the last operation is executed after all others still in the queue
+        release.countDown();
+        scheduler.submit(ENDPOINT, Priority.POLL, record("last", done)).get(10, TimeUnit.SECONDS);
+        assertThat(executed, is(equalTo(Arrays.asList("last"))));
+    }
+
+    @Test
+    public void testCancelInterruptsRunningPoll() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        scheduler.submitPeriodic(ENDPOINT, "poll", () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+
+        scheduler.cancelPeriodic(ENDPOINT, "poll", true);
+        assertThat(interrupted.await(10, TimeUnit.SECONDS), is(true));
+
+        // the interrupt does not affect the next operation
+        AtomicBoolean nextInterrupted = new AtomicBoolean(true);
+        scheduler.submit(ENDPOINT, Priority.POLL, () -> nextInterrupted.set(Thread.currentThread().isInterrupted()))
+                .get(10, TimeUnit.SECONDS);
+        assertThat(nextInterrupted.get(), is(false));
+    }
+
+    @Test
+    public void testWaitTimeStatistics() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 1);
+        block(scheduler, ENDPOINT);
+
+        CountDownLatch done = new CountDownLatch(1);
+        long queued = System.nanoTime();
+        Future<?> write = scheduler.submit(ENDPOINT, Priority.WRITE, record("write", done));
+        // the write cannot start before the endpoint is released
+        long minWaitMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queued);
+        release.countDown();
+        write.get(10, TimeUnit.SECONDS);
+
+        ModbusEndpointStatistics statistics = scheduler.getStatistics(ENDPOINT);
+        assertThat(statistics.getExecutedTasks(), is(equalTo(2L)));
+        assertThat(statistics.getMaxWaitMillis() >= minWaitMillis, is(true));
+        assertThat(statistics.getAverageWaitMillis() <= statistics.getMaxWaitMillis(), is(true));
+    }
+
+    @Test
+    public void testConcurrency() throws Exception {
+        ModbusEndpointScheduler scheduler = new ModbusEndpointScheduler(executor, endpoint -> 2);
+        block(scheduler, ENDPOINT);
+
+        // second operation is executed while the first one is still running
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.submit(ENDPOINT, Priority.POLL, record("second", done)).get(10, TimeUnit.SECONDS);
+        assertThat(executed, is(equalTo(Arrays.asList("second"))));
+    }
+}
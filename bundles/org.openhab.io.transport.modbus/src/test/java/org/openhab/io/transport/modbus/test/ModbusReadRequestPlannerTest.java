@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusReadRequestPlanner;
+
+public class ModbusReadRequestPlannerTest {
+
+    private static class RecordingCallback implements ModbusReadCallback {
+        private final Map<ModbusReadRequestBlueprint, Object> received = new HashMap<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.put(request, registers);
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.put(request, bits);
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.put(request, error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final RecordingCallback callback = new RecordingCallback();
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, int unitId, ModbusReadFunctionCode functionCode, int start,
+            int length) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 3), callback);
+    }
+
+    private PollTask task(int start, int length) {
+        return task(endpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingRequestsAreMerged() {
+        List<PollTask> plan = new ModbusReadRequestPlanner(0).plan(Arrays.asList(task(10, 2), task(0, 5), task(5, 5),
+                task(3, 4)));
+        assertThat(plan.size(), is(equalTo(1)));
+        ModbusReadRequestBlueprint request = plan.get(0).getRequest();
+        assertThat(request.getReference(), is(equalTo(0)));
+        assertThat(request.getDataLength(), is(equalTo(12)));
+        assertThat(((CoalescedPollTask) plan.get(0)).getTasks().size(), is(equalTo(4)));
+    }
+
+    @Test
+    public void testGapTolerance() {
+        List<PollTask> tasks = Arrays.asList(task(0, 2), task(5, 2));
+        assertThat(new ModbusReadRequestPlanner(2).plan(tasks).size(), is(equalTo(2)));
+
+        List<PollTask> plan = new ModbusReadRequestPlanner(3).plan(tasks);
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(7)));
+    }
+
+    @Test
+    public void testMaximumLengthIsRespected() {
+        List<PollTask> plan = new ModbusReadRequestPlanner(0).plan(Arrays.asList(task(0, 100), task(100, 25),
+                task(125, 1)));
+        assertThat(plan.size(), is(equalTo(2)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(125)));
+        assertThat(plan.get(1).getRequest().getReference(), is(equalTo(125)));
+
+        plan = new ModbusReadRequestPlanner(0).plan(Arrays.asList(
+                task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 1000),
+                task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 1000, 1000)));
+        assertThat(plan.size(), is(equalTo(1)));
+        assertThat(plan.get(0).getRequest().getDataLength(), is(equalTo(2000)));
+    }
+
+    @Test
+    public void testDifferentSlavesAreNotMerged() {
+        ModbusSlaveEndpoint otherEndpoint = new ModbusTCPSlaveEndpoint("otherhost", 502);
+        List<PollTask> plan = new ModbusReadRequestPlanner(0).plan(Arrays.asList(task(0, 2), task(2, 2),
+                task(otherEndpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2),
+                task(endpoint, 2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 4, 2),
+                task(endpoint, 1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 4, 2)));
+        assertThat(plan.size(), is(equalTo(4)));
+        assertThat(plan.get(0), is(instanceOf(CoalescedPollTask.class)));
+    }
+
+    @Test
+    public void testRegistersAreDemultiplexed() {
+        PollTask first = task(0, 2);
+        PollTask second = task(3, 2);
+        List<PollTask> plan = new ModbusReadRequestPlanner(1).plan(Arrays.asList(second, first));
+        assertThat(plan.size(), is(equalTo(1)));
+
+        PollTask coalesced = plan.get(0);
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4, 5));
+
+        ModbusRegisterArray firstRegisters = (ModbusRegisterArray) callback.received.get(first.getRequest());
+        assertThat(firstRegisters.size(), is(equalTo(2)));
+        assertThat(firstRegisters.getRegister(0).getValue(), is(equalTo(1)));
+        assertThat(firstRegisters.getRegister(1).getValue(), is(equalTo(2)));
+        ModbusRegisterArray secondRegisters = (ModbusRegisterArray) callback.received.get(second.getRequest());
+        assertThat(secondRegisters.size(), is(equalTo(2)));
+        assertThat(secondRegisters.getRegister(0).getValue(), is(equalTo(4)));
+        assertThat(secondRegisters.getRegister(1).getValue(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testBitsAreDemultiplexed() {
+        PollTask first = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 2);
+        PollTask second = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 2, 3);
+        PollTask coalesced = new ModbusReadRequestPlanner(0).plan(Arrays.asList(first, second)).get(0);
+        coalesced.getCallback().onBits(coalesced.getRequest(), new BasicBitArray(true, false, false, true, true));
+
+        assertThat(callback.received.get(first.getRequest()), is(equalTo(new BasicBitArray(true, false))));
+        assertThat(callback.received.get(second.getRequest()), is(equalTo(new BasicBitArray(false, true, true))));
+    }
+
+    @Test
+    public void testErrorsAreForwardedToAllTasks() {
+        List<PollTask> tasks = new ArrayList<>();
+        tasks.add(task(0, 2));
+        tasks.add(task(2, 2));
+        PollTask coalesced = new ModbusReadRequestPlanner(0).plan(tasks).get(0);
+        Exception error = new Exception("failure");
+        coalesced.getCallback().onError(coalesced.getRequest(), error);
+
+        assertThat(callback.received.get(tasks.get(0).getRequest()), is(equalTo(error)));
+        assertThat(callback.received.get(tasks.get(1).getRequest()), is(equalTo(error)));
+    }
+
+    @Test
+    public void testShortResponseIsReportedAsError() {
+        PollTask first = task(0, 2);
+        PollTask second = task(2, 2);
+        PollTask coalesced = new ModbusReadRequestPlanner(0).plan(Arrays.asList(first, second)).get(0);
+        coalesced.getCallback().onRegisters(coalesced.getRequest(), new BasicModbusRegisterArray(1, 2, 3));
+
+        assertThat(callback.received.get(first.getRequest()), is(instanceOf(ModbusRegisterArray.class)));
+        assertThat(callback.received.get(second.getRequest()), is(instanceOf(Exception.class)));
+    }
+}
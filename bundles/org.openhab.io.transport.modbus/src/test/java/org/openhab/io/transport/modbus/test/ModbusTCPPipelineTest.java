@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusTCPPipeline;
+
+import net.wimpi.modbus.ModbusSlaveException;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersResponse;
+
+public class ModbusTCPPipelineTest {
+
+    /**
+     * Address answered with an illegal data address exception response
+     */
+    private static final int ILLEGAL_ADDRESS = 999;
+
+    /**
+     * Minimal in-process stand-in for a Modbus TCP slave
+     *
+     * Read holding register requests are answered after the configured latency, concurrently and thus possibly out
+     * of order. Responses can additionally be held back until released. Register n has the value n.
+     */
+    private static class SlaveStandIn implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(16);
+        private final long latencyMillis;
+        private final boolean reverse;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxObservedInFlight = new AtomicInteger();
+        private final AtomicInteger received = new AtomicInteger();
+        private final List<Socket> sockets = new ArrayList<>();
+        private volatile CountDownLatch hold = new CountDownLatch(0);
+        private volatile CountDownLatch receivedLatch = new CountDownLatch(0);
+
+        SlaveStandIn(long latencyMillis, boolean reverse) throws IOException {
+            this.latencyMillis = latencyMillis;
+            this.reverse = reverse;
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "modbus-slave-stand-in");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket socket = serverSocket.accept();
+                    synchronized (sockets) {
+                        sockets.add(socket);
+                    }
+                    Thread handler = new Thread(() -> serve(socket), "modbus-slave-stand-in-connection");
+                    handler.setDaemon(true);
+                    handler.start();
+                }
+            } catch (IOException e) {
+                // server socket closed
+            }
+        }
+
+        private void serve(Socket socket) {
+            try {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                while (true) {
+                    int transactionId = in.readUnsignedShort();
+                    in.readUnsignedShort(); // protocol id
+                    in.readUnsignedShort(); // length
+                    int unitId = in.readUnsignedByte();
+                    int functionCode = in.readUnsignedByte();
+                    int reference = in.readUnsignedShort();
+                    int count = in.readUnsignedShort();
+
+                    int current = inFlight.incrementAndGet();
+                    maxObservedInFlight.accumulateAndGet(current, Math::max);
+                    receivedLatch.countDown();
+                    // with reverse order, the later requests of a burst are answered first
+                    long delay = reverse ? Math.max(0, latencyMillis - 5 * received.getAndIncrement())
+                            : latencyMillis;
+                    if (!reverse) {
+                        received.incrementAndGet();
+                    }
+                    responder.schedule(() -> respond(out, transactionId, unitId, functionCode, reference, count),
+                            delay, TimeUnit.MILLISECONDS);
+                }
+            } catch (IOException e) {
+                // connection closed
+            }
+        }
+
+        private void respond(DataOutputStream out, int transactionId, int unitId, int functionCode, int reference,
+                int count) {
+            try {
+                hold.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            try {
+                synchronized (out) {
+                    out.writeShort(transactionId);
+                    out.writeShort(0);
+                    if (reference == ILLEGAL_ADDRESS) {
+                        out.writeShort(3);
+                        out.writeByte(unitId);
+                        out.writeByte(functionCode | 0x80);
+                        out.writeByte(2);
+                    } else {
+                        out.writeShort(3 + 2 * count);
+                        out.writeByte(unitId);
+                        out.writeByte(functionCode);
+                        out.writeByte(2 * count);
+                        for (int i = 0; i < count; i++) {
+                            out.writeShort(reference + i);
+                        }
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // connection closed
+            }
+        }
+
+        void dropConnections() throws IOException {
+            synchronized (sockets) {
+                for (Socket socket : sockets) {
+                    socket.close();
+                }
+                sockets.clear();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            dropConnections();
+            responder.shutdownNow();
+        }
+    }
+
+    private final ExecutorService clients = Executors.newFixedThreadPool(16);
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        resources.clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+        clients.shutdownNow();
+    }
+
+    private SlaveStandIn startSlave(long latencyMillis, boolean reverse) throws IOException {
+        SlaveStandIn slave = new SlaveStandIn(latencyMillis, reverse);
+        resources.add(slave);
+        return slave;
+    }
+
+    private ModbusTCPPipeline createPipeline(SlaveStandIn slave, int maxInFlight) {
+        ModbusTCPPipeline pipeline = new ModbusTCPPipeline(
+                new ModbusTCPSlaveEndpoint(InetAddress.getLoopbackAddress().getHostAddress(), slave.getPort()),
+                maxInFlight, 1000, 2000);
+        resources.add(pipeline);
+        return pipeline;
+    }
+
+    private static int readFirstRegister(ModbusTCPPipeline pipeline, int reference) throws Exception {
+        ModbusResponse response = pipeline.execute(new ReadMultipleRegistersRequest(reference, 2));
+        assertThat(response, is(instanceOf(ReadMultipleRegistersResponse.class)));
+        return ((ReadMultipleRegistersResponse) response).getRegisters()[0].getValue();
+    }
+
+    /**
+     * Submit the given number of reads concurrently
+     */
+    private List<Future<Integer>> submitReads(ModbusTCPPipeline pipeline, int requests) {
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int reference = i;
+            results.add(clients.submit(() -> readFirstRegister(pipeline, reference)));
+        }
+        return results;
+    }
+
+    /**
+     * Wait for the results of the reads, register n is read by the n-th request
+     */
+    private static void assertReads(List<Future<Integer>> results) throws Exception {
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(10, TimeUnit.SECONDS), is(equalTo(i)));
+        }
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() throws Exception {
+        SlaveStandIn slave = startSlave(50, true);
+        ModbusTCPPipeline pipeline = createPipeline(slave, 8);
+
+        assertReads(submitReads(pipeline, 8));
+        assertThat(slave.received.get(), is(equalTo(8)));
+    }
+
+    @Test
+    public void testMaxInFlightIsRespected() throws Exception {
+        SlaveStandIn slave = startSlave(0, false);
+        slave.hold = new CountDownLatch(1);
+        slave.receivedLatch = new CountDownLatch(3);
+        ModbusTCPPipeline pipeline = createPipeline(slave, 3);
+
+        List<Future<Integer>> results = submitReads(pipeline, 12);
+        // no response is sent before three requests are in flight
+        assertThat(slave.receivedLatch.await(10, TimeUnit.SECONDS), is(true));
+        slave.hold.countDown();
+        assertReads(results);
+        assertThat(slave.maxObservedInFlight.get(), is(equalTo(3)));
+        assertThat(slave.received.get(), is(equalTo(12)));
+    }
+
+    @Test
+    public void testExceptionResponse() throws Exception {
+        SlaveStandIn slave = startSlave(0, false);
+        ModbusTCPPipeline pipeline = createPipeline(slave, 2);
+
+        try {
+            pipeline.execute(new ReadMultipleRegistersRequest(ILLEGAL_ADDRESS, 1));
+            fail("Expected exception response");
+        } catch (ModbusSlaveException e) {
+            assertThat(e.getType(), is(equalTo(2)));
+        }
+        // the connection is still usable
+        assertThat(readFirstRegister(pipeline, 5), is(equalTo(5)));
+    }
+
+    @Test
+    public void testReconnectAfterConnectionLoss() throws Exception {
+        SlaveStandIn slave = startSlave(0, false);
+        ModbusTCPPipeline pipeline = createPipeline(slave, 2);
+
+        assertThat(readFirstRegister(pipeline, 1), is(equalTo(1)));
+        slave.dropConnections();
+        // the first request after the loss may still be written to the dead socket
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                assertThat(readFirstRegister(pipeline, 2), is(equalTo(2)));
+                return;
+            } catch (IOException e) {
+                // expected until the loss has been noticed
+            }
+        }
+        fail("Pipeline did not reconnect");
+    }
+}
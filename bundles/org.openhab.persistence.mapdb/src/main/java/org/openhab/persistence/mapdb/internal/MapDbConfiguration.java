@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Configuration of the {@link MapDbPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbConfiguration {
+    /** maximum time in milliseconds between a change and the commit of the database */
+    public Integer commitInterval = 1000;
+    /** number of changes after which the database is committed without waiting for the commit interval */
+    public Integer commitSize = 100;
+    /** store the history of the items in addition to their last state */
+    public Boolean storeHistory = false;
+    /** minimum interval in seconds between two stored states of an item in the history, 0 to store all states */
+    public Integer historyInterval = 0;
+    /** number of days after which states are removed from the history, 0 to keep them forever */
+    public Integer historyRetentionDays = 0;
+}
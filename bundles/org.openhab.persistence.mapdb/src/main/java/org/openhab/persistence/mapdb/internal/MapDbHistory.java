@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.mapdb.BTreeKeySerializer;
+import org.mapdb.BTreeMap;
+import org.mapdb.DB;
+import org.mapdb.Fun;
+import org.mapdb.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time series storage of item states in a MapDB BTree.
+ *
+ * The entries are keyed by item name and timestamp, so that the history of an item is stored in order and can be
+ * queried as a range. If an interval is configured, only one entry per item and interval is kept: the key timestamp
+ * is the start of the interval and a newer state within the same interval replaces the previous one. The value holds
+ * the offset of the real timestamp to the key timestamp and the state, encoded by the {@link StateCodec}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbHistory {
+
+    private static final String HISTORY_MAP_NAME = "itemHistory";
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbHistory.class);
+
+    private final BTreeMap<Fun.Tuple2<String, Long>, byte[]> history;
+    private final StateCodec codec;
+    private final long intervalMillis;
+
+    /**
+     * Creates or opens the history of the given database.
+     *
+     * @param db the database to store the history in
+     * @param codec the codec for the states
+     * @param intervalMillis the minimum interval between two stored states of an item, 0 to store all states
+     */
+    public MapDbHistory(DB db, StateCodec codec, long intervalMillis) {
+        this.history = db.createTreeMap(HISTORY_MAP_NAME).keySerializer(BTreeKeySerializer.TUPLE2)
+                .valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        this.codec = codec;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Stores a state of an item.
+     *
+     * @param name the name of the item
+     * @param state the state
+     * @param timestamp the timestamp of the state in milliseconds
+     */
+    public void store(String name, State state, long timestamp) {
+        long keyTimestamp = intervalMillis > 0 ? timestamp - Math.floorMod(timestamp, intervalMillis) : timestamp;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            StateCodec.writePackedLong(out, timestamp - keyTimestamp);
+            codec.write(out, state);
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        history.put(Fun.t2(name, keyTimestamp), bytes.toByteArray());
+    }
+
+    /**
+     * Queries the history of an item.
+     *
+     * @param filter the filter criteria
+     * @return the matching states, ordered and paged according to the filter
+     */
+    public List<HistoricItem> query(FilterCriteria filter) {
+        List<HistoricItem> result = new ArrayList<>();
+        String name = filter.getItemName();
+        if (name == null) {
+            return result;
+        }
+
+        Date beginDate = filter.getBeginDate();
+        Date endDate = filter.getEndDate();
+        long begin = beginDate == null ? Long.MIN_VALUE : beginDate.getTime();
+        long end = endDate == null ? Long.MAX_VALUE : endDate.getTime();
+
+        // the key timestamp may be up to one interval before the real timestamp
+        long keyBegin = intervalMillis > 0 && begin != Long.MIN_VALUE ? begin - intervalMillis : begin;
+        NavigableMap<Fun.Tuple2<String, Long>, byte[]> range = history.subMap(Fun.t2(name, keyBegin), true,
+                Fun.t2(name, end), true);
+        if (filter.getOrdering() == Ordering.DESCENDING) {
+            range = range.descendingMap();
+        }
+
+        long skip = (long) filter.getPageNumber() * filter.getPageSize();
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> entry : range.entrySet()) {
+            MapDbItem item = decode(name, entry.getKey().b, entry.getValue());
+            if (item == null) {
+                continue;
+            }
+            if (!matches(filter, item)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(item);
+            if (result.size() >= filter.getPageSize()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all states of the given items older than the given time.
+     *
+     * @param names the names of the items
+     * @param cutoff the time in milliseconds before which states are removed
+     * @return the number of removed states
+     */
+    public int removeOlderThan(Iterable<String> names, long cutoff) {
+        int removed = 0;
+        for (String name : names) {
+            NavigableMap<Fun.Tuple2<String, Long>, byte[]> range = history.subMap(Fun.t2(name, Long.MIN_VALUE), true,
+                    Fun.t2(name, cutoff), false);
+            for (Fun.Tuple2<String, Long> key : new ArrayList<>(range.keySet())) {
+                history.remove(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private @Nullable MapDbItem decode(String name, long keyTimestamp, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            long timestamp = keyTimestamp + StateCodec.readPackedLong(in);
+            State state = codec.read(in);
+            if (state == null) {
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        } catch (IOException e) {
+            logger.warn("Couldn't decode history entry of '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks if a state matches the time range and the state condition of a filter.
+     *
+     * @param filter the filter criteria
+     * @param item the state of an item
+     * @return true if the state matches the filter
+     */
+    public static boolean matches(FilterCriteria filter, HistoricItem item) {
+        Date beginDate = filter.getBeginDate();
+        Date endDate = filter.getEndDate();
+        Date timestamp = item.getTimestamp();
+        if ((beginDate != null && timestamp.before(beginDate)) || (endDate != null && timestamp.after(endDate))) {
+            return false;
+        }
+        State state = item.getState();
+        State filterState = filter.getState();
+        if (filterState == null) {
+            return true;
+        }
+        Operator operator = filter.getOperator();
+        switch (operator) {
+            case EQ:
+                return filterState.equals(state);
+            case NEQ:
+                return !filterState.equals(state);
+            default:
+                if (!(filterState instanceof DecimalType) || !(state instanceof DecimalType)) {
+                    return false;
+                }
+                BigDecimal value = ((DecimalType) state).toBigDecimal();
+                int comparison = value.compareTo(((DecimalType) filterState).toBigDecimal());
+                switch (operator) {
+                    case GT:
+                        return comparison > 0;
+                    case GTE:
+                        return comparison >= 0;
+                    case LT:
+                        return comparison < 0;
+                    case LTE:
+                        return comparison <= 0;
+                    default:
+                        return false;
+                }
+        }
+    }
+}
@@ -15,17 +15,22 @@ package org.openhab.persistence.mapdb.internal;
 import java.io.File;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
@@ -37,7 +42,10 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,11 +57,20 @@ import com.google.gson.GsonBuilder;
  * more about MapDB please visit their <a
  * href="http://www.mapdb.org/">website</a>.
  *
+ * By default only the last state of every item is stored. If the history is enabled, all states are additionally
+ * stored in a {@link MapDbHistory}, which is used to answer queries. Items without history, e.g. because they have
+ * been stored before the history was enabled, are answered with their last state.
+ *
+ * The last states are kept in memory and written to the database in batches: an item which is updated several times
+ * before the next commit is written only once, and the database is committed once per batch instead of once per
+ * update.
+ *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb")
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
@@ -62,25 +79,52 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    /** name of the map holding the last states as JSON, as written by former versions */
+    private static final String JSON_MAP_NAME = "itemStore";
+
+    private static final String MAP_NAME = "itemStates";
+
+    /** interval between two runs of the history retention in hours */
+    private static final int RETENTION_INTERVAL_HOURS = 1;
+
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
-    private ExecutorService threadPool;
+    private ScheduledExecutorService scheduler;
 
     /** holds the local instance of the MapDB database */
     @NonNullByDefault({})
     private DB db;
     @NonNullByDefault({})
-    private Map<String, String> map;
+    private Map<String, byte[]> map;
+
+    private final StateCodec codec = new StateCodec();
+
+    /** last states of all items, the persisted map is only read on activation */
+    private final Map<String, MapDbItem> items = new ConcurrentHashMap<>();
+
+    /** names of the items whose last state has not yet been written to the database */
+    private final Set<String> pendingItems = ConcurrentHashMap.newKeySet();
 
-    private transient Gson mapper = new GsonBuilder()
-            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
-            .create();
+    /** number of changes since the last commit */
+    private final AtomicInteger uncommittedChanges = new AtomicInteger();
+    private final AtomicBoolean commitScheduled = new AtomicBoolean();
 
-    public void activate() {
+    private long commitInterval;
+    private int commitSize;
+
+    private @Nullable MapDbHistory history;
+    private @Nullable ScheduledFuture<?> retentionJob;
+
+    @Activate
+    public void activate(Map<String, Object> properties) {
         logger.debug("MapDB persistence service is being activated");
 
-        threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+        MapDbConfiguration config = new Configuration(properties).as(MapDbConfiguration.class);
+        commitInterval = Math.max(0, config.commitInterval);
+        commitSize = Math.max(1, config.commitSize);
+
+        scheduler = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
 
         File folder = new File(DB_FOLDER_NAME);
         if (!folder.exists()) {
@@ -93,16 +137,40 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
-        map = db.createTreeMap("itemStore").makeOrGet();
+        map = db.createTreeMap(MAP_NAME).valueSerializer(Serializer.BYTE_ARRAY).makeOrGet();
+        if (db.exists(JSON_MAP_NAME)) {
+            migrateJsonMap();
+        }
+        for (Map.Entry<String, byte[]> entry : map.entrySet()) {
+            MapDbItem item = codec.decodeItem(entry.getKey(), entry.getValue());
+            if (item != null) {
+                items.put(item.getName(), item);
+            }
+        }
+
+        if (config.storeHistory) {
+            history = new MapDbHistory(db, codec, TimeUnit.SECONDS.toMillis(config.historyInterval));
+            if (config.historyRetentionDays > 0) {
+                long retentionMillis = TimeUnit.DAYS.toMillis(config.historyRetentionDays);
+                retentionJob = scheduler.scheduleWithFixedDelay(() -> removeExpiredHistory(retentionMillis), 0,
+                        RETENTION_INTERVAL_HOURS, TimeUnit.HOURS);
+            }
+        }
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
+        ScheduledFuture<?> retentionJob = this.retentionJob;
+        if (retentionJob != null) {
+            retentionJob.cancel(false);
+            this.retentionJob = null;
+        }
         if (db != null) {
+            commit();
             db.close();
         }
-        threadPool.shutdown();
     }
 
     @Override
@@ -117,10 +185,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream()
-                .map(this::deserialize)
-                .flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo>toSet());
+        return new HashSet<>(items.values());
     }
 
     @Override
@@ -145,46 +210,102 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setName(alias);
         mItem.setState(state);
         mItem.setTimestamp(new Date());
-        String json = serialize(mItem);
-        map.put(alias, json);
-        commit();
+        items.put(alias, mItem);
+        pendingItems.add(alias);
+        MapDbHistory history = this.history;
+        if (history != null) {
+            history.store(alias, state, mItem.getTimestamp().getTime());
+        }
+        changed();
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return Collections.emptyList();
+        String name = filter.getItemName();
+        MapDbItem item = name == null ? null : items.get(name);
+        MapDbHistory history = this.history;
+        if (history != null) {
+            List<HistoricItem> result = history.query(filter);
+            // items stored before the history has been enabled only have their last state
+            if (result.isEmpty() && item != null && filter.getPageNumber() == 0
+                    && MapDbHistory.matches(filter, item)) {
+                return Collections.singletonList(item);
+            }
+            return result;
         }
-        Optional<MapDbItem> item = deserialize(json);
-        if (!item.isPresent()) {
+        if (item == null) {
             return Collections.emptyList();
         }
-        return Collections.singletonList(item.get());
+        return Collections.singletonList(item);
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    /**
+     * Converts the last states stored as JSON by former versions into the binary format.
+     */
+    private void migrateJsonMap() {
+        Gson mapper = new GsonBuilder().registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        Map<String, String> jsonMap = db.getTreeMap(JSON_MAP_NAME);
+        int migrated = 0;
+        for (Map.Entry<String, String> entry : jsonMap.entrySet()) {
+            MapDbItem item = mapper.fromJson(entry.getValue(), MapDbItem.class);
+            if (item == null || !item.isValid()) {
+                logger.warn("Deserialized invalid item: {}", item);
+                continue;
+            }
+            map.put(entry.getKey(), codec.encodeItem(item));
+            migrated++;
+        }
+        db.delete(JSON_MAP_NAME);
+        db.commit();
+        logger.debug("Migrated {} states of the MapDB database to the binary format", migrated);
     }
 
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.<MapDbItem>fromJson(json, MapDbItem.class);
-        if (item == null || !item.isValid()) {
-            logger.warn("Deserialized invalid item: {}", item);
-            return Optional.empty();
+    /**
+     * Schedules a commit, which is done immediately if enough changes are pending or after the commit interval
+     * otherwise.
+     */
+    private void changed() {
+        if (uncommittedChanges.incrementAndGet() == commitSize) {
+            scheduler.execute(this::commit);
+        } else if (commitScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
         }
-        return Optional.of(item);
     }
 
-    private void commit() {
-        threadPool.submit(() -> db.commit());
+    private synchronized void commit() {
+        commitScheduled.set(false);
+        if (uncommittedChanges.getAndSet(0) == 0 || db.isClosed()) {
+            return;
+        }
+        try {
+            for (String name : pendingItems) {
+                // remove before reading the state, so that a concurrent update is written by the next commit
+                pendingItems.remove(name);
+                MapDbItem item = items.get(name);
+                if (item != null) {
+                    map.put(name, codec.encodeItem(item));
+                }
+            }
+            db.commit();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to commit MapDB database: {}", e.getMessage());
+        }
     }
 
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        if (!opt.isPresent()) {
-            return Stream.empty();
+    private void removeExpiredHistory(long retentionMillis) {
+        MapDbHistory history = this.history;
+        if (history == null) {
+            return;
+        }
+        try {
+            int removed = history.removeOlderThan(items.keySet(), System.currentTimeMillis() - retentionMillis);
+            if (removed > 0) {
+                logger.debug("Removed {} expired states from MapDB history", removed);
+                changed();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to remove expired states from MapDB history: {}", e.getMessage());
         }
-        return Stream.of(opt.get());
     }
 }
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact binary encoding of {@link State}s.
+ *
+ * A state is written as a one byte type tag followed by its payload. The most common state types are stored in a
+ * typed form, i.e. numbers as packed unscaled value and scale, all other states fall back to their class name and
+ * full string representation, like the {@link StateTypeAdapter} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StateCodec {
+
+    private static final byte TAG_GENERIC = 0;
+    private static final byte TAG_ON_OFF = 1;
+    private static final byte TAG_OPEN_CLOSED = 2;
+    private static final byte TAG_DECIMAL = 3;
+    private static final byte TAG_PERCENT = 4;
+    private static final byte TAG_STRING = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(StateCodec.class);
+
+    /**
+     * Encodes a state.
+     *
+     * @param state the state to encode
+     * @return the binary representation of the state
+     */
+    public byte[] encode(State state) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            write(out, state);
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a state.
+     *
+     * @param data the binary representation of the state
+     * @return the state or <code>null</code> if it could not be decoded
+     */
+    public @Nullable State decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return read(in);
+        } catch (IOException e) {
+            logger.warn("Couldn't decode state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Encodes the state and timestamp of an item.
+     *
+     * @param item the item to encode
+     * @return the binary representation of the state and timestamp
+     */
+    public byte[] encodeItem(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writePackedLong(out, item.getTimestamp().getTime());
+            write(out, item.getState());
+        } catch (IOException e) {
+            // cannot happen when writing to a byte array
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the state and timestamp of an item.
+     *
+     * @param name the name of the item
+     * @param data the binary representation of the state and timestamp
+     * @return the item or <code>null</code> if it could not be decoded
+     */
+    public @Nullable MapDbItem decodeItem(String name, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            long timestamp = readPackedLong(in);
+            State state = read(in);
+            if (state == null) {
+                return null;
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            return item;
+        } catch (IOException e) {
+            logger.warn("Couldn't decode state of '{}': {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a state to the given output.
+     */
+    public void write(DataOutput out, State state) throws IOException {
+        Class<?> type = state.getClass();
+        if (type == OnOffType.class) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeByte(state == OnOffType.ON ? 1 : 0);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeByte(state == OpenClosedType.OPEN ? 1 : 0);
+        } else if (type == DecimalType.class && fitsInLong(((DecimalType) state).toBigDecimal())) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class && fitsInLong(((PercentType) state).toBigDecimal())) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == StringType.class) {
+            out.writeByte(TAG_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TAG_GENERIC);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    /**
+     * Reads a state from the given input.
+     *
+     * @return the state or <code>null</code> if it could not be restored
+     */
+    public @Nullable State read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_ON_OFF:
+                return in.readByte() == 1 ? OnOffType.ON : OnOffType.OFF;
+            case TAG_OPEN_CLOSED:
+                return in.readByte() == 1 ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TAG_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TAG_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TAG_STRING:
+                return new StringType(readString(in));
+            case TAG_GENERIC:
+                String typeName = readString(in);
+                String value = readString(in);
+                try {
+                    @SuppressWarnings("unchecked")
+                    Class<? extends State> valueType = (Class<? extends State>) Class.forName(typeName);
+                    List<Class<? extends State>> types = Collections.singletonList(valueType);
+                    return TypeParser.parseState(types, value);
+                } catch (Exception e) {
+                    logger.warn("Couldn't deserialize state '{}' of type '{}': {}", value, typeName, e.getMessage());
+                    return null;
+                }
+            default:
+                throw new IOException("Unknown state tag " + tag);
+        }
+    }
+
+    private static boolean fitsInLong(BigDecimal value) {
+        return value.unscaledValue().bitLength() < 64;
+    }
+
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        writePackedLong(out, zigZag(value.scale()));
+        writePackedLong(out, zigZag(value.unscaledValue().longValue()));
+    }
+
+    private static BigDecimal readDecimal(DataInput in) throws IOException {
+        int scale = (int) unZigZag(readPackedLong(in));
+        long unscaled = unZigZag(readPackedLong(in));
+        return new BigDecimal(BigInteger.valueOf(unscaled), scale);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writePackedLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[(int) readPackedLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non negative long in 7 bit groups, so that small values only need few bytes.
+     */
+    static void writePackedLong(DataOutput out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    static long readPackedLong(DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed packed long");
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
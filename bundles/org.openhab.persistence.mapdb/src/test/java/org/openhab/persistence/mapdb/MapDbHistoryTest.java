@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.persistence.mapdb.internal.MapDbHistory;
+import org.openhab.persistence.mapdb.internal.MapDbItem;
+import org.openhab.persistence.mapdb.internal.StateCodec;
+
+/**
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbHistoryTest {
+    StateCodec codec = new StateCodec();
+    DB db;
+
+    @Before
+    public void setUp() {
+        db = DBMaker.newMemoryDB().make();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void encodeDecodeRoundtripShouldRecreateTheEncodedState() {
+        assertThat(roundtrip(OnOffType.ON), is(equalTo(OnOffType.ON)));
+        assertThat(roundtrip(OpenClosedType.CLOSED), is(equalTo(OpenClosedType.CLOSED)));
+        assertThat(roundtrip(PercentType.HUNDRED), is(equalTo(PercentType.HUNDRED)));
+        assertThat(roundtrip(new DecimalType(new BigDecimal("-12.345"))),
+                is(equalTo(new DecimalType(new BigDecimal("-12.345")))));
+        assertThat(roundtrip(new DecimalType(new BigDecimal("123456789012345678901234567890.5"))),
+                is(equalTo(new DecimalType(new BigDecimal("123456789012345678901234567890.5")))));
+        assertThat(roundtrip(HSBType.GREEN), is(equalTo(HSBType.GREEN)));
+        assertThat(roundtrip(StringType.valueOf("tést")), is(equalTo(StringType.valueOf("tést"))));
+    }
+
+    @Test
+    public void encodeDecodeItemRoundtripShouldRecreateStateAndTimestamp() {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(new DecimalType(new BigDecimal("21.5")));
+        item.setTimestamp(new Date(1546300800123L));
+
+        MapDbItem decoded = codec.decodeItem("item", codec.encodeItem(item));
+        assertThat(decoded.getName(), is("item"));
+        assertThat(decoded.getState(), is(equalTo(item.getState())));
+        assertThat(decoded.getTimestamp(), is(equalTo(item.getTimestamp())));
+    }
+
+    @Test
+    public void queryShouldReturnStatesInRangeAndOrder() {
+        MapDbHistory history = new MapDbHistory(db, codec, 0);
+        for (int i = 0; i < 10; i++) {
+            history.store("item", new DecimalType(i), 1000L * i);
+        }
+        history.store("other", OnOffType.ON, 2000L);
+
+        FilterCriteria filter = new FilterCriteria().setItemName("item").setBeginDate(new Date(2000))
+                .setEndDate(new Date(5000)).setOrdering(Ordering.ASCENDING);
+        List<HistoricItem> result = history.query(filter);
+        assertThat(result.size(), is(4));
+        assertThat(result.get(0).getState(), is(equalTo(new DecimalType(2))));
+        assertThat(result.get(0).getTimestamp(), is(equalTo(new Date(2000))));
+        assertThat(result.get(3).getState(), is(equalTo(new DecimalType(5))));
+
+        filter.setOrdering(Ordering.DESCENDING).setPageSize(2).setPageNumber(1);
+        result = history.query(filter);
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getState(), is(equalTo(new DecimalType(3))));
+        assertThat(result.get(1).getState(), is(equalTo(new DecimalType(2))));
+
+        filter = new FilterCriteria().setItemName("item").setState(new DecimalType(7)).setOperator(Operator.GTE);
+        result = history.query(filter);
+        assertThat(result.size(), is(3));
+        assertThat(result.get(0).getState(), is(equalTo(new DecimalType(9))));
+    }
+
+    @Test
+    public void storeShouldKeepOneStatePerInterval() {
+        MapDbHistory history = new MapDbHistory(db, codec, 1000);
+        history.store("item", new DecimalType(1), 1100);
+        history.store("item", new DecimalType(2), 1900);
+        history.store("item", new DecimalType(3), 2100);
+
+        List<HistoricItem> result = history.query(new FilterCriteria().setItemName("item")
+                .setBeginDate(new Date(1500)).setOrdering(Ordering.ASCENDING));
+        assertThat(result.size(), is(2));
+        assertThat(result.get(0).getState(), is(equalTo(new DecimalType(2))));
+        assertThat(result.get(0).getTimestamp(), is(equalTo(new Date(1900))));
+        assertThat(result.get(1).getTimestamp(), is(equalTo(new Date(2100))));
+    }
+
+    @Test
+    public void removeOlderThanShouldOnlyRemoveExpiredStates() {
+        MapDbHistory history = new MapDbHistory(db, codec, 0);
+        for (int i = 0; i < 10; i++) {
+            history.store("item", new DecimalType(i), 1000L * i);
+        }
+
+        assertThat(history.removeOlderThan(Collections.singleton("item"), 4000), is(4));
+        List<HistoricItem> result = history.query(new FilterCriteria().setItemName("item"));
+        assertThat(result.size(), is(6));
+        assertThat(result.get(5).getState(), is(equalTo(new DecimalType(4))));
+    }
+
+    @Test
+    public void matchesShouldCheckTimeRangeAndState() {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(new DecimalType(5));
+        item.setTimestamp(new Date(2000));
+
+        assertThat(MapDbHistory.matches(new FilterCriteria().setItemName("item"), item), is(true));
+        assertThat(MapDbHistory.matches(new FilterCriteria().setBeginDate(new Date(2000)), item), is(true));
+        assertThat(MapDbHistory.matches(new FilterCriteria().setBeginDate(new Date(2001)), item), is(false));
+        assertThat(MapDbHistory.matches(new FilterCriteria().setEndDate(new Date(1999)), item), is(false));
+        assertThat(MapDbHistory.matches(
+                new FilterCriteria().setState(new DecimalType(5)).setOperator(Operator.LT), item), is(false));
+    }
+
+    private State roundtrip(State state) {
+        return codec.decode(codec.encode(state));
+    }
+}
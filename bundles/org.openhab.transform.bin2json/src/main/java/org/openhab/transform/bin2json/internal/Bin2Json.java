@@ -12,12 +12,12 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
-import org.eclipse.smarthome.core.util.HexUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,11 +66,21 @@ import com.igormaznitsa.jbbp.model.JBBPFieldUShort;
  * json.toString() = {"a":3,"b":-6,"c":255}
  * </pre>
  *
+ * <p>
+ * A {@link Bin2Json} instance can be reused and shared between threads, so that the parser rule is only compiled
+ * once. {@link #convertToJsonString(String)} produces the same result as <code>convert(hexString).toString()</code>
+ * without building an intermediate {@link JsonObject}.
+ *
  * @author Pauli Anttila - Initial contribution
  *
  */
 public class Bin2Json {
 
+    private static final String NO_NAME = "nonamed";
+
+    /** per thread buffer for decoded hexadecimal data, grown when needed */
+    private static final ThreadLocal<byte[]> DATA_BUFFER = ThreadLocal.withInitial(() -> new byte[64]);
+
     private final Logger logger = LoggerFactory.getLogger(Bin2Json.class);
 
     private JBBPParser parser;
@@ -96,13 +106,79 @@ public class Bin2Json {
      * @throws ConversionException
      */
     public JsonObject convert(String hexString) throws ConversionException {
+        byte[] data = new byte[decodedLength(hexString)];
+        hexToBytes(hexString, data);
+        return convert(data);
+    }
+
+    /**
+     * Convert {@link String} in hexadecimal string format to a JSON string.
+     *
+     * The hexadecimal string is decoded into a reused buffer and the JSON string is written directly from the parsed
+     * fields.
+     *
+     * @param hexString Data in hexadecimal string format. Example data: 03FAFF
+     * @return JSON string, equal to the string representation of the object returned by {@link #convert(String)}
+     * @throws ConversionException
+     */
+    public String convertToJsonString(String hexString) throws ConversionException {
+        final int length = decodedLength(hexString);
+        byte[] buffer = DATA_BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            DATA_BUFFER.set(buffer);
+        }
+        hexToBytes(hexString, buffer);
+
+        final JBBPFieldStruct data;
         try {
-            return convert(HexUtils.hexToBytes(hexString));
-        } catch (IllegalArgumentException e) {
-            throw new ConversionException(String.format("Illegal hexstring , reason: %s", e.getMessage(), e));
+            data = parser.parse(new ByteArrayInputStream(buffer, 0, length));
+        } catch (IOException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
+        }
+
+        try {
+            final StringBuilder json = new StringBuilder();
+            writeStructFields(json, data);
+            return json.toString();
+        } catch (JBBPException e) {
+            throw new ConversionException(String.format("Unexpected error, reason: %s", e.getMessage(), e));
         }
     }
 
+    private static int decodedLength(String hexString) throws ConversionException {
+        if (hexString.isEmpty()) {
+            throw new ConversionException("Illegal hexstring , reason: empty string");
+        }
+        return (hexString.length() + 1) / 2;
+    }
+
+    /**
+     * Decodes two hexadecimal characters into one byte. A trailing single character is decoded into a byte of its
+     * own.
+     */
+    private static void hexToBytes(String hexString, byte[] target) throws ConversionException {
+        final int length = hexString.length();
+        for (int i = 0; i < length; i += 2) {
+            int value = hexDigit(hexString, i);
+            if (i + 1 < length) {
+                value = (value << 4) | hexDigit(hexString, i + 1);
+            }
+            target[i / 2] = (byte) value;
+        }
+    }
+
+    private static int hexDigit(String hexString, int index) throws ConversionException {
+        final int digit = Character.digit(hexString.charAt(index), 16);
+        if (digit < 0) {
+            throw new ConversionException(String.format("Illegal hexstring , reason: invalid character '%s' at %d",
+                    hexString.charAt(index), index));
+        }
+        return digit;
+    }
+
     /**
      * Convert byte array to JSON object.
      *
@@ -236,4 +312,131 @@ public class Bin2Json {
         }
         return jsn;
     }
+
+    private static String fieldName(final JBBPAbstractField field) {
+        return field.getFieldName() == null ? NO_NAME : field.getFieldName();
+    }
+
+    /**
+     * Writes the fields of a struct as JSON object. Like {@link JsonObject}, unnamed fields share the name
+     * {@value #NO_NAME}, which keeps the position of the first and the value of the last unnamed field.
+     */
+    private void writeStructFields(final StringBuilder json, final JBBPFieldStruct struct)
+            throws ConversionException {
+        final JBBPAbstractField[] fields = struct.getArray();
+        int lastUnnamed = -1;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getFieldName() == null) {
+                lastUnnamed = i;
+            }
+        }
+
+        json.append('{');
+        boolean first = true;
+        boolean unnamedWritten = false;
+        for (final JBBPAbstractField field : fields) {
+            JBBPAbstractField value = field;
+            if (field.getFieldName() == null) {
+                if (unnamedWritten) {
+                    continue;
+                }
+                unnamedWritten = true;
+                value = fields[lastUnnamed];
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(fieldName(field)).append("\":");
+            writeValue(json, value);
+        }
+        json.append('}');
+    }
+
+    private void writeValue(final StringBuilder json, final JBBPAbstractField field) throws ConversionException {
+        if (field instanceof JBBPAbstractArrayField) {
+            json.append('[');
+            if (field instanceof JBBPFieldArrayBit) {
+                final byte[] array = ((JBBPFieldArrayBit) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayBoolean) {
+                final boolean[] array = ((JBBPFieldArrayBoolean) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayByte) {
+                final byte[] array = ((JBBPFieldArrayByte) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayInt) {
+                final int[] array = ((JBBPFieldArrayInt) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayLong) {
+                final long[] array = ((JBBPFieldArrayLong) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayShort) {
+                final short[] array = ((JBBPFieldArrayShort) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i]);
+                }
+            } else if (field instanceof JBBPFieldArrayStruct) {
+                final JBBPFieldArrayStruct array = (JBBPFieldArrayStruct) field;
+                for (int i = 0; i < array.size(); i++) {
+                    final JBBPFieldStruct element = array.getElementAt(i);
+                    appendSeparator(json, i).append("{\"").append(fieldName(element)).append("\":");
+                    writeStructFields(json, element);
+                    json.append('}');
+                }
+            } else if (field instanceof JBBPFieldArrayUByte) {
+                final byte[] array = ((JBBPFieldArrayUByte) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i] & 0xFF);
+                }
+            } else if (field instanceof JBBPFieldArrayUShort) {
+                final short[] array = ((JBBPFieldArrayUShort) field).getArray();
+                for (int i = 0; i < array.length; i++) {
+                    appendSeparator(json, i).append(array[i] & 0xFFFF);
+                }
+            } else {
+                throw new ConversionException(String.format("Unexpected field type '%s'", field));
+            }
+            json.append(']');
+        } else {
+            if (field instanceof JBBPFieldBit) {
+                json.append(((JBBPFieldBit) field).getAsInt());
+            } else if (field instanceof JBBPFieldBoolean) {
+                json.append(((JBBPFieldBoolean) field).getAsBool());
+            } else if (field instanceof JBBPFieldByte) {
+                json.append(((JBBPFieldByte) field).getAsInt());
+            } else if (field instanceof JBBPFieldInt) {
+                json.append(((JBBPFieldInt) field).getAsInt());
+            } else if (field instanceof JBBPFieldLong) {
+                json.append(((JBBPFieldLong) field).getAsLong());
+            } else if (field instanceof JBBPFieldShort) {
+                json.append(((JBBPFieldShort) field).getAsInt());
+            } else if (field instanceof JBBPFieldStruct) {
+                writeStructFields(json, (JBBPFieldStruct) field);
+            } else if (field instanceof JBBPFieldUByte) {
+                json.append(((JBBPFieldUByte) field).getAsInt());
+            } else if (field instanceof JBBPFieldUShort) {
+                json.append(((JBBPFieldUShort) field).getAsInt());
+            } else {
+                throw new ConversionException(String.format("Unexpected field '%s'", field));
+            }
+        }
+    }
+
+    private static StringBuilder appendSeparator(final StringBuilder json, final int index) {
+        if (index > 0) {
+            json.append(',');
+        }
+        return json;
+    }
 }
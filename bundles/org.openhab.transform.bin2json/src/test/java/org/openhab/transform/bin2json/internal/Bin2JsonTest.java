@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Checks that {@link Bin2Json#convertToJsonString(String)} writes the same JSON as {@link Bin2Json#convert(String)}.
+ *
+ * @author agent - Initial contribution
+ */
+public class Bin2JsonTest {
+
+    private static void assertSameJson(String rule, String hexString, String expected) throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json(rule);
+        assertEquals(expected, bin2Json.convert(hexString).toString());
+        assertEquals(expected, bin2Json.convertToJsonString(hexString));
+    }
+
+    @Test
+    public void testNumericTypes() throws ConversionException {
+        assertSameJson("bit:4 a; bit:4 b; bool c; byte d; ubyte e; short f; ushort g; int h; long i;",
+                "A5" + "01" + "FA" + "FA" + "FFFE" + "FFFE" + "80000000" + "7FFFFFFFFFFFFFFF",
+                "{\"a\":5,\"b\":10,\"c\":true,\"d\":-6,\"e\":250,\"f\":-2,\"g\":65534,\"h\":-2147483648,"
+                        + "\"i\":9223372036854775807}");
+    }
+
+    @Test
+    public void testArrays() throws ConversionException {
+        assertSameJson(
+                "bit:4 [2] a; bool [2] b; byte [2] c; ubyte [2] d; short [2] e; ushort [2] f; int [2] g; long [1] h;",
+                "3C" + "0100" + "FF01" + "FF01" + "FFFF0001" + "FFFF0001" + "FFFFFFFF00000001" + "8000000000000000",
+                "{\"a\":[12,3],\"b\":[true,false],\"c\":[-1,1],\"d\":[255,1],\"e\":[-1,1],\"f\":[65535,1],"
+                        + "\"g\":[-1,1],\"h\":[-9223372036854775808]}");
+    }
+
+    @Test
+    public void testNestedStructs() throws ConversionException {
+        assertSameJson("byte a; inner { ubyte b; deeper { short c; } } list [2] { byte x; ubyte [2] y; }",
+                "01" + "FF" + "8000" + "02" + "0304" + "FE" + "0506",
+                "{\"a\":1,\"inner\":{\"b\":255,\"deeper\":{\"c\":-32768}},"
+                        + "\"list\":[{\"list\":{\"x\":2,\"y\":[3,4]}},{\"list\":{\"x\":-2,\"y\":[5,6]}}]}");
+    }
+
+    @Test
+    public void testUnnamedFields() throws ConversionException {
+        // like a JSON object, unnamed fields keep the position of the first and the value of the last field
+        assertSameJson("byte; byte a; ubyte; ubyte b;", "01020304", "{\"nonamed\":3,\"a\":2,\"b\":4}");
+    }
+
+    @Test
+    public void testOddLengthAndReusedBuffer() throws ConversionException {
+        Bin2Json bin2Json = new Bin2Json("ubyte a; ubyte b;");
+        assertEquals("{\"a\":1,\"b\":2}", bin2Json.convertToJsonString("0102030405060708"));
+        // a shorter input does not see the data of the previous conversion
+        assertEquals(bin2Json.convert("012").toString(), bin2Json.convertToJsonString("012"));
+    }
+
+    @Test(expected = ConversionException.class)
+    public void testIllegalHexString() throws ConversionException {
+        new Bin2Json("byte a;").convertToJsonString("0G");
+    }
+}
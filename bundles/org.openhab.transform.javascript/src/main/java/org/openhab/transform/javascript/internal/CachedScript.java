@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A compiled JavaScript file together with its evaluation statistics.
+ *
+ * Every thread evaluates the script with its own {@link Bindings}, which are created once per thread and reused for
+ * subsequent evaluations, so that the script can be evaluated concurrently without sharing state between threads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CachedScript {
+
+    private final String filename;
+    private final CompiledScript compiledScript;
+    private final ThreadLocal<Bindings> bindings;
+
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public CachedScript(String filename, CompiledScript compiledScript) {
+        this.filename = filename;
+        this.compiledScript = compiledScript;
+        this.bindings = ThreadLocal.withInitial(() -> compiledScript.getEngine().createBindings());
+    }
+
+    /**
+     * Evaluates the script with the given input.
+     *
+     * @param input the value of the 'input' variable of the script
+     * @return the result of the script
+     * @throws ScriptException if the evaluation of the script failed
+     */
+    public @Nullable Object eval(String input) throws ScriptException {
+        final long start = System.nanoTime();
+        try {
+            final Bindings threadBindings = bindings.get();
+            threadBindings.put("input", input);
+            return compiledScript.eval(threadBindings);
+        } finally {
+            final long elapsed = System.nanoTime() - start;
+            evaluations.increment();
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * @return the number of evaluations of the script
+     */
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    /**
+     * @return the average evaluation time in nanoseconds, 0 if the script has not been evaluated yet
+     */
+    public long getAverageNanos() {
+        final long count = evaluations.sum();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    /**
+     * @return the longest evaluation time in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedScript [filename=" + filename + ", evaluations=" + getEvaluations() + ", averageNanos="
+                + getAverageNanos() + ", maxNanos=" + getMaxNanos() + "]";
+    }
+}
@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.Compilable;
@@ -35,6 +37,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Simple cache for compiled JavaScript files.
  *
+ * Lookups of cached scripts do not lock. A script which is not cached yet is compiled by the first thread requesting
+ * it, while other threads requesting the same script wait for its completion.
+ *
  * @author Thomas Kordelle - pre compiled scripts
  *
  */
@@ -44,36 +49,63 @@ public class JavaScriptEngineManager {
 
     private final Logger logger = LoggerFactory.getLogger(JavaScriptEngineManager.class);
     private final ScriptEngineManager manager = new ScriptEngineManager();
-    /* keep memory foot print low. max 2 concurrent threads are estimated */
-    private final Map<String, CompiledScript> compiledScriptMap = new ConcurrentHashMap<>(4, 0.5f, 2);
+    private final Map<String, CompletableFuture<CachedScript>> compiledScriptMap = new ConcurrentHashMap<>();
 
     /**
-     * Get a pre compiled script {@link CompiledScript} from cache. If it is not in the cache, then load it from
+     * Get a pre compiled script {@link CachedScript} from cache. If it is not in the cache, then load it from
      * storage and put a pre compiled version into the cache.
      *
      * @param filename name of the JavaScript file to load
-     * @return a pre compiled script {@link CompiledScript}
+     * @return a pre compiled script {@link CachedScript}
      * @throws TransformationException if compile of JavaScript failed
      */
-    protected CompiledScript getScript(final String filename) throws TransformationException {
-        synchronized (compiledScriptMap) {
-            if (compiledScriptMap.containsKey(filename)) {
-                logger.debug("Loading JavaScript {} from cache.", filename);
-                return compiledScriptMap.get(filename);
-            } else {
-                final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
-                logger.debug("Loading script {} from storage ", path);
-                try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
-                    final ScriptEngine engine = manager.getEngineByName("javascript");
-                    final CompiledScript cScript = ((Compilable) engine).compile(reader);
-                    logger.debug("Putting compiled JavaScript {} to cache.", cScript);
-                    compiledScriptMap.put(filename, cScript);
-                    return cScript;
-                } catch (IOException | ScriptException e) {
-                    throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(),
-                            e);
+    protected CachedScript getScript(final String filename) throws TransformationException {
+        CompletableFuture<CachedScript> future = compiledScriptMap.get(filename);
+        if (future == null) {
+            final CompletableFuture<CachedScript> newFuture = new CompletableFuture<>();
+            future = compiledScriptMap.putIfAbsent(filename, newFuture);
+            if (future == null) {
+                future = newFuture;
+                try {
+                    newFuture.complete(compile(filename));
+                } catch (TransformationException | RuntimeException e) {
+                    // do not cache failures, the file may be fixed later on
+                    compiledScriptMap.remove(filename, newFuture);
+                    newFuture.completeExceptionally(e);
                 }
             }
+        } else {
+            logger.trace("Loading JavaScript {} from cache.", filename);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof TransformationException) {
+                throw (TransformationException) cause;
+            }
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load a script from storage and compile it.
+     *
+     * @param filename name of the JavaScript file to load
+     * @return the compiled script
+     * @throws TransformationException if loading or compiling the script failed
+     */
+    protected CachedScript compile(final String filename) throws TransformationException {
+        final String path = TransformationScriptWatcher.TRANSFORM_FOLDER + File.separator + filename;
+        logger.debug("Loading script {} from storage ", path);
+        try (final Reader reader = new InputStreamReader(new FileInputStream(path))) {
+            final ScriptEngine engine = manager.getEngineByName("javascript");
+            final CompiledScript cScript = ((Compilable) engine).compile(reader);
+            logger.debug("Putting compiled JavaScript {} to cache.", cScript);
+            return new CachedScript(filename, cScript);
+        } catch (IOException | ScriptException e) {
+            throw new TransformationException("An error occurred while loading JavaScript. " + e.getMessage(), e);
         }
     }
 
@@ -84,6 +116,9 @@ public class JavaScriptEngineManager {
      */
     protected void removeFromCache(String fileName) {
         logger.debug("Removing JavaScript {} from cache.", fileName);
-        compiledScriptMap.remove(fileName);
+        final CompletableFuture<CachedScript> future = compiledScriptMap.remove(fileName);
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+            logger.debug("Statistics of removed JavaScript: {}", future.join());
+        }
     }
 }
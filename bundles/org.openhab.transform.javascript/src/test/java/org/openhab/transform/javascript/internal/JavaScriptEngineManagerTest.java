@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.javascript.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the caching of compiled scripts by the {@link JavaScriptEngineManager}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JavaScriptEngineManagerTest {
+
+    private static final String FILENAME = "test.js";
+
+    private final AtomicInteger compilations = new AtomicInteger();
+    private final AtomicBoolean failCompilation = new AtomicBoolean();
+    private final CountDownLatch compilationStarted = new CountDownLatch(1);
+    private volatile CountDownLatch releaseCompilation = new CountDownLatch(0);
+
+    private JavaScriptEngineManager manager;
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        manager = new JavaScriptEngineManager() {
+            @Override
+            protected CachedScript compile(String filename) throws TransformationException {
+                compilations.incrementAndGet();
+                compilationStarted.countDown();
+                try {
+                    releaseCompilation.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failCompilation.get()) {
+                    throw new TransformationException("An error occurred while loading JavaScript.");
+                }
+                return new CachedScript(filename, new UnusedScript());
+            }
+        };
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testScriptIsCompiledOnce() throws TransformationException {
+        CachedScript script = manager.getScript(FILENAME);
+
+        assertSame(script, manager.getScript(FILENAME));
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws TransformationException {
+        failCompilation.set(true);
+        try {
+            manager.getScript(FILENAME);
+            fail("Expected a TransformationException");
+        } catch (TransformationException e) {
+            // expected
+        }
+
+        failCompilation.set(false);
+        assertNotNull(manager.getScript(FILENAME));
+        assertEquals(2, compilations.get());
+    }
+
+    @Test
+    public void testConcurrentCallersCompileOnce() throws Exception {
+        releaseCompilation = new CountDownLatch(1);
+
+        List<Future<CachedScript>> results = new ArrayList<>();
+        results.add(executor.submit(() -> manager.getScript(FILENAME)));
+        assertTrue(compilationStarted.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> manager.getScript(FILENAME)));
+        }
+        releaseCompilation.countDown();
+
+        CachedScript script = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<CachedScript> result : results) {
+            assertSame(script, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, compilations.get());
+    }
+
+    @Test
+    public void testRemoveFromCacheForcesRecompile() throws TransformationException {
+        CachedScript script = manager.getScript(FILENAME);
+
+        manager.removeFromCache(FILENAME);
+
+        assertNotSame(script, manager.getScript(FILENAME));
+        assertEquals(2, compilations.get());
+    }
+
+    /**
+     * A compiled script which is never evaluated, so that the tests do not need a script engine.
+     */
+    private static class UnusedScript extends CompiledScript {
+        @Override
+        public Object eval(ScriptContext context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ScriptEngine getEngine() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +28,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -41,8 +46,27 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /** maximum number of compiled JsonPath expressions kept in memory */
+    private static final int MAX_CACHED_PATHS = 256;
+
+    /**
+     * maximum number of parsed JSON documents kept in memory. This is intentionally small: the cache only needs to
+     * cover the case where several channels extract different values from the same payload in quick succession.
+     */
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+
+    private final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+    private final Map<String, Object> parsedDocuments = new ConcurrentHashMap<>();
+
+    private final AtomicLong pathCacheHits = new AtomicLong();
+    private final AtomicLong pathCacheMisses = new AtomicLong();
+    private final AtomicLong documentCacheHits = new AtomicLong();
+    private final AtomicLong documentCacheMisses = new AtomicLong();
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -60,7 +84,9 @@ public class JSonPathTransformationService implements TransformationService {
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            JsonPath jsonPath = getCompiledPath(jsonPathExpression);
+            Object document = getParsedDocument(source);
+            Object transformationResult = jsonPath.read(document, configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -76,6 +102,69 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    /**
+     * Returns the compiled {@link JsonPath} for the given expression, compiling and caching it if necessary.
+     */
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath jsonPath = compiledPaths.get(jsonPathExpression);
+        if (jsonPath != null) {
+            pathCacheHits.incrementAndGet();
+            return jsonPath;
+        }
+        pathCacheMisses.incrementAndGet();
+        jsonPath = JsonPath.compile(jsonPathExpression);
+        putBounded(compiledPaths, jsonPathExpression, jsonPath, MAX_CACHED_PATHS);
+        return jsonPath;
+    }
+
+    /**
+     * Returns the parsed representation of the given JSON document. Documents are cached for a short while so that
+     * multiple transformations on the same payload only need to parse it once.
+     *
+     * The parsed document is shared between callers and must only be read, never modified.
+     */
+    private Object getParsedDocument(String source) {
+        Object document = parsedDocuments.get(source);
+        if (document != null) {
+            documentCacheHits.incrementAndGet();
+            return document;
+        }
+        documentCacheMisses.incrementAndGet();
+        document = configuration.jsonProvider().parse(source);
+        if (document != null) {
+            putBounded(parsedDocuments, source, document, MAX_CACHED_DOCUMENTS);
+        }
+        return document;
+    }
+
+    private static <V> void putBounded(Map<String, V> cache, String key, V value, int maxEntries) {
+        if (cache.size() >= maxEntries) {
+            // evict an arbitrary entry to keep the cache bounded
+            Iterator<String> iterator = cache.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        cache.put(key, value);
+    }
+
+    public long getPathCacheHits() {
+        return pathCacheHits.get();
+    }
+
+    public long getPathCacheMisses() {
+        return pathCacheMisses.get();
+    }
+
+    public long getDocumentCacheHits() {
+        return documentCacheHits.get();
+    }
+
+    public long getDocumentCacheMisses() {
+        return documentCacheMisses.get();
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
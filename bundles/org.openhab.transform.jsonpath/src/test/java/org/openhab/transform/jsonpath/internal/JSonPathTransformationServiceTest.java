@@ -129,4 +129,24 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testDocumentIsParsedOnceForMultiplePaths() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("alice", processor.transform("$[1].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+
+        assertEquals(1, processor.getDocumentCacheMisses());
+        assertEquals(2, processor.getDocumentCacheHits());
+    }
+
+    @Test
+    public void testCompiledPathIsReused() throws TransformationException {
+        assertEquals("1", processor.transform("$[0].id", jsonArray));
+        assertEquals("1", processor.transform("$[0].id", "[{ \"id\":1 }]"));
+
+        assertEquals(1, processor.getPathCacheMisses());
+        assertEquals(1, processor.getPathCacheHits());
+        assertEquals(2, processor.getDocumentCacheMisses());
+    }
 }
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Immutable string to string map holding the content of a map file.
+ *
+ * Keys and values are stored in flat arrays using open addressing with linear probing. As the map cannot be modified
+ * after creation, lookups need no synchronization. Equal values are stored only once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CompactMap {
+
+    private final int[] hashes;
+    private final @Nullable String[] keys;
+    private final @Nullable String[] values;
+    private final int mask;
+    private final int size;
+
+    /**
+     * Creates a map with the content of the given properties.
+     *
+     * @param properties the key value pairs of the map
+     */
+    public CompactMap(Properties properties) {
+        size = properties.size();
+
+        // keep the load factor at or below 0.5
+        int capacity = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+        hashes = new int[capacity];
+        keys = new String[capacity];
+        values = new String[capacity];
+        mask = capacity - 1;
+
+        Map<String, String> distinctValues = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            String sharedValue = distinctValues.putIfAbsent(value, value);
+            put(key, sharedValue != null ? sharedValue : value);
+        }
+    }
+
+    private void put(String key, String value) {
+        int hash = key.hashCode();
+        int index = hash & mask;
+        while (keys[index] != null) {
+            index = (index + 1) & mask;
+        }
+        hashes[index] = hash;
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key
+     * @return the value or <code>null</code> if the key is not contained in the map
+     */
+    public @Nullable String get(String key) {
+        int hash = key.hashCode();
+        int index = hash & mask;
+        String candidate;
+        while ((candidate = keys[index]) != null) {
+            if (hashes[index] == hash && candidate.equals(key)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of entries of the map.
+     */
+    public int size() {
+        return size;
+    }
+
+}
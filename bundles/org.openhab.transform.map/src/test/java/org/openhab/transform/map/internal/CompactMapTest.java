@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.map.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+/**
+ * @author agent - Initial contribution
+ */
+public class CompactMapTest {
+
+    @Test
+    public void testEmptyMap() {
+        CompactMap map = new CompactMap(new Properties());
+
+        assertEquals(0, map.size());
+        assertNull(map.get("CLOSED"));
+        assertNull(map.get(""));
+    }
+
+    @Test
+    public void testLookup() {
+        Properties properties = new Properties();
+        for (int i = 0; i < 1000; i++) {
+            properties.setProperty("key" + i, "value" + (i % 10));
+        }
+        properties.setProperty("", "default");
+        // "Aa" and "BB" have the same hash code
+        properties.setProperty("Aa", "first");
+        properties.setProperty("BB", "second");
+
+        CompactMap map = new CompactMap(properties);
+
+        assertEquals(properties.size(), map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + (i % 10), map.get("key" + i));
+        }
+        assertEquals("default", map.get(""));
+        assertEquals("first", map.get("Aa"));
+        assertEquals("second", map.get("BB"));
+        assertNull(map.get("key1000"));
+        assertSame(map.get("key1"), map.get("key11"));
+    }
+
+}
@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +33,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled expressions are cached, so that the regular expression of a function is only compiled once.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
@@ -40,6 +46,11 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    /** maximum number of compiled expressions kept in the cache */
+    private static final int MAX_CACHED_EXPRESSIONS = 512;
+
+    private final Map<String, CompiledExpression> compiledExpressions = new ConcurrentHashMap<>();
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -48,51 +59,103 @@ public class RegExTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, regExpression);
 
-        String result = "";
+        CompiledExpression expression = getCompiledExpression(regExpression);
+        Matcher matcher = expression.matcher(source.trim());
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        if (expression.isSubstitution()) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+            if (expression.isGlobal()) {
+                return matcher.replaceAll(expression.getSubstitution());
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
-            }
-            if (result != null) {
-                return result;
+                return matcher.replaceFirst(expression.getSubstitution());
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
                     regExpression, source);
             return null;
         }
-        matcher.reset();
-
-        while (matcher.find()) {
-            if (matcher.groupCount() == 0) {
-                logger.info(
-                        "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
-                        regExpression);
-                continue;
-            }
 
-            result = matcher.group(1);
+        if (matcher.groupCount() == 0) {
+            logger.info(
+                    "the given regular expression '^{}$' doesn't contain a group. No content will be extracted and returned!",
+                    regExpression);
+            return "";
+        }
+
+        if (matcher.groupCount() > 1) {
+            logger.debug(
+                    "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
+                    regExpression);
+        }
 
-            if (matcher.groupCount() > 1) {
-                logger.debug(
-                        "the given regular expression '^{}$' contains more than one group. Only the first group will be returned!",
-                        regExpression);
+        return matcher.group(1);
+    }
+
+    private CompiledExpression getCompiledExpression(String regExpression) {
+        CompiledExpression expression = compiledExpressions.get(regExpression);
+        if (expression == null) {
+            expression = compile(regExpression);
+            if (compiledExpressions.size() >= MAX_CACHED_EXPRESSIONS) {
+                // evict an arbitrary entry to keep the cache bounded
+                Iterator<String> iterator = compiledExpressions.keySet().iterator();
+                if (iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
             }
+            compiledExpressions.put(regExpression, expression);
         }
+        return expression;
+    }
 
-        return result;
+    private CompiledExpression compile(String regExpression) {
+        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+        if (substMatcher.matches()) {
+            String regex = substMatcher.group(1);
+            String substitution = substMatcher.group(2);
+            String options = substMatcher.group(3);
+            return new CompiledExpression(Pattern.compile(regex), substitution, options.equals("g"));
+        }
+        return new CompiledExpression(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null, false);
+    }
+
+    /**
+     * A compiled regular expression, either of the matching form or of the substitution form
+     * (<code>s/regex/substitution/options</code>).
+     *
+     * {@link Matcher}s are not thread safe, so every thread gets its own matcher which is reused between calls.
+     */
+    private static class CompiledExpression {
+
+        private final @Nullable String substitution;
+        private final boolean global;
+        private final ThreadLocal<Matcher> matcher;
+
+        public CompiledExpression(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.substitution = substitution;
+            this.global = global;
+            this.matcher = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        }
+
+        public Matcher matcher(String input) {
+            return matcher.get().reset(input);
+        }
+
+        public boolean isSubstitution() {
+            return substitution != null;
+        }
+
+        public String getSubstitution() {
+            String substitution = this.substitution;
+            return substitution != null ? substitution : "";
+        }
+
+        public boolean isGlobal() {
+            return global;
+        }
     }
 
 }
@@ -79,4 +79,19 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_cachedExpressionOnDifferentSources() throws TransformationException {
+        assertEquals("21.5", processor.transform("TEMP=([0-9.]+).*", "TEMP=21.5;HUM=40"));
+        assertEquals("19.0", processor.transform("TEMP=([0-9.]+).*", "TEMP=19.0;HUM=42"));
+        assertEquals(null, processor.transform("TEMP=([0-9.]+).*", "HUM=42"));
+        assertEquals("22.0", processor.transform("TEMP=([0-9.]+).*", "TEMP=22.0"));
+    }
+
+    @Test
+    public void testTransformByRegex_cachedSubstitutionOnDifferentSources() throws TransformationException {
+        assertEquals("a-b-c", processor.transform("s/,/-/g", "a,b,c"));
+        assertEquals("x-y,z", processor.transform("s/,/-/", "x,y,z"));
+        assertEquals("1-2", processor.transform("s/,/-/g", "1,2"));
+    }
 }
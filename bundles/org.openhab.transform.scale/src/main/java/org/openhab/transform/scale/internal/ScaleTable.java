@@ -0,0 +1,230 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Compiled representation of a scale file.
+ *
+ * All range limits of the scale are sorted into an array of distinct bounds. The number line is thereby split into
+ * segments (the bounds themselves and the open intervals between them) in which the result of the scale is
+ * constant, so the matching label of every segment can be resolved once when the file is loaded, honouring the
+ * order of the ranges in the file. A lookup is then a binary search over the bounds.
+ *
+ * Lookups are done on <code>double</code> values whenever the result is unambiguous; if the value is equal to the
+ * <code>double</code> representation of a bound the exact {@link BigDecimal} value is used.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTable {
+
+    private static final String FORMAT_VALUE = "%value%";
+    private static final String FORMAT_LABEL = "%label%";
+
+    private static final int PART_LITERAL = 0;
+    private static final int PART_VALUE = 1;
+    private static final int PART_LABEL = 2;
+
+    private final BigDecimal[] bounds;
+    private final double[] doubleBounds;
+
+    /**
+     * Labels of the segments: index <code>2 * i</code> is the open interval below <code>bounds[i]</code>, index
+     * <code>2 * i + 1</code> is <code>bounds[i]</code> itself and the last index is the interval above the highest
+     * bound. <code>null</code> if no range of the scale matches the segment.
+     */
+    private final @Nullable String[] labels;
+
+    private final @Nullable String nonNumericLabel;
+
+    /** format split into literal text and placeholders, the kind of each part is stored in {@link #formatKinds} */
+    private final String[] formatParts;
+    private final int[] formatKinds;
+
+    /**
+     * Creates a scale table.
+     *
+     * @param ranges the ranges with their labels, in the order of evaluation
+     * @param nonNumericLabel the label for non numeric input, or <code>null</code> if there is none
+     * @param format the format of the result, containing the <code>%value%</code> and <code>%label%</code>
+     *            placeholders
+     */
+    public ScaleTable(LinkedHashMap<Range, String> ranges, @Nullable String nonNumericLabel, String format) {
+        this.nonNumericLabel = nonNumericLabel;
+
+        List<String> parts = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        parseFormat(format, parts, kinds);
+        formatParts = parts.toArray(new String[parts.size()]);
+        formatKinds = kinds.stream().mapToInt(Integer::intValue).toArray();
+
+        TreeSet<BigDecimal> limits = new TreeSet<>();
+        for (Range range : ranges.keySet()) {
+            if (range.min != null) {
+                limits.add(range.min);
+            }
+            if (range.max != null) {
+                limits.add(range.max);
+            }
+        }
+
+        bounds = limits.toArray(new BigDecimal[limits.size()]);
+        doubleBounds = new double[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            doubleBounds[i] = bounds[i].doubleValue();
+        }
+
+        labels = new String[2 * bounds.length + 1];
+        for (int segment = 0; segment < labels.length; segment++) {
+            labels[segment] = findLabel(ranges, representative(segment));
+        }
+    }
+
+    /**
+     * Returns a value which lies within the given segment.
+     */
+    private BigDecimal representative(int segment) {
+        if (bounds.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return bounds[index];
+        } else if (index == 0) {
+            return bounds[0].subtract(BigDecimal.ONE);
+        } else if (index == bounds.length) {
+            return bounds[bounds.length - 1].add(BigDecimal.ONE);
+        } else {
+            return bounds[index - 1].add(bounds[index]).divide(BigDecimal.valueOf(2));
+        }
+    }
+
+    private static @Nullable String findLabel(Map<Range, String> ranges, BigDecimal value) {
+        for (Map.Entry<Range, String> entry : ranges.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the label of the first range containing the given value.
+     *
+     * @param value the value, parsed from <code>source</code>
+     * @param source the textual representation of the value, which is used if an exact comparison is needed
+     * @return the label or <code>null</code> if no range contains the value
+     */
+    public @Nullable String getLabel(double value, String source) {
+        // -0.0 sorts below 0.0 in Arrays.binarySearch, but both are the same number for the scale
+        int index = Arrays.binarySearch(doubleBounds, value + 0.0);
+        if (index >= 0) {
+            return getLabel(new BigDecimal(source));
+        }
+        return labels[2 * (-index - 1)];
+    }
+
+    /**
+     * Returns the label of the first range containing the given value.
+     *
+     * @param value the value
+     * @return the label or <code>null</code> if no range contains the value
+     */
+    public @Nullable String getLabel(BigDecimal value) {
+        int index = Arrays.binarySearch(bounds, value);
+        if (index >= 0) {
+            return labels[2 * index + 1];
+        }
+        return labels[2 * (-index - 1)];
+    }
+
+    /**
+     * Returns the label for non numeric input.
+     */
+    public @Nullable String getNonNumericLabel() {
+        return nonNumericLabel;
+    }
+
+    /**
+     * Formats the result of the transformation according to the format of the scale.
+     *
+     * @param source the input of the transformation, replacing <code>%value%</code>
+     * @param label the matching label, replacing <code>%label%</code>
+     * @return the formatted result
+     */
+    public String format(String source, String label) {
+        if (formatKinds.length == 1 && formatKinds[0] == PART_LABEL) {
+            return label;
+        }
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < formatParts.length; i++) {
+            switch (formatKinds[i]) {
+                case PART_VALUE:
+                    result.append(source);
+                    break;
+                case PART_LABEL:
+                    result.append(label);
+                    break;
+                default:
+                    result.append(formatParts[i]);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    private static void parseFormat(String format, List<String> parts, List<Integer> kinds) {
+        int start = 0;
+        while (start < format.length()) {
+            int valueIndex = format.indexOf(FORMAT_VALUE, start);
+            int labelIndex = format.indexOf(FORMAT_LABEL, start);
+            int next;
+            String placeholder;
+            int kind;
+            if (valueIndex >= 0 && (labelIndex < 0 || valueIndex < labelIndex)) {
+                next = valueIndex;
+                placeholder = FORMAT_VALUE;
+                kind = PART_VALUE;
+            } else if (labelIndex >= 0) {
+                next = labelIndex;
+                placeholder = FORMAT_LABEL;
+                kind = PART_LABEL;
+            } else {
+                next = format.length();
+                placeholder = "";
+                kind = PART_LITERAL;
+            }
+            if (next > start) {
+                parts.add(format.substring(start, next));
+                kinds.add(PART_LITERAL);
+            }
+            if (kind != PART_LITERAL) {
+                parts.add(placeholder);
+                kinds.add(kind);
+            }
+            start = next + placeholder.length();
+        }
+    }
+
+}
@@ -150,4 +150,36 @@ public class ScaleTransformServiceTest {
         Assert.assertEquals("Correcte (992) !", transformedResponse);
     }
 
+    @Test
+    public void testTransformOnRangeLimits() throws TransformationException {
+        String existingscale = "scale/limits.scale";
+
+        Assert.assertEquals("low", processor.transform(existingscale, "9.99"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10"));
+        Assert.assertEquals("middle", processor.transform(existingscale, "10.0"));
+        Assert.assertEquals("high", processor.transform(existingscale, "20"));
+        Assert.assertEquals("high", processor.transform(existingscale, "299.999"));
+        Assert.assertEquals("extreme", processor.transform(existingscale, "300"));
+        Assert.assertEquals("extreme", processor.transform(existingscale, "3e2"));
+        Assert.assertEquals("low", processor.transform(existingscale, "-0"));
+        // would be rounded to the limit 10 as a double
+        Assert.assertEquals("low", processor.transform(existingscale, "9.99999999999999999999"));
+    }
+
+    @Test
+    public void testIsDecimal() {
+        Assert.assertTrue(ScaleTransformationService.isDecimal("10"));
+        Assert.assertTrue(ScaleTransformationService.isDecimal("-10.5"));
+        Assert.assertTrue(ScaleTransformationService.isDecimal("+.5"));
+        Assert.assertTrue(ScaleTransformationService.isDecimal("5."));
+        Assert.assertTrue(ScaleTransformationService.isDecimal("1.5E-3"));
+        Assert.assertFalse(ScaleTransformationService.isDecimal(""));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("-"));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("."));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("1e"));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("NaN"));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("0x10"));
+        Assert.assertFalse(ScaleTransformationService.isDecimal("992 ppm"));
+    }
+
 }
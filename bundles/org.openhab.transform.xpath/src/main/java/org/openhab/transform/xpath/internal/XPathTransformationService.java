@@ -12,13 +12,17 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,19 +34,46 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * As neither {@link DocumentBuilder}s nor {@link XPathExpression}s are thread safe, every thread uses its own
+ * instances of them, which are reused between calls. The documents of the most recently transformed sources are kept
+ * in a small cache shared by all threads, so that evaluating several expressions against the same source only parses
+ * it once. As DOM documents are not thread safe either, expressions are evaluated on a cached document by one thread
+ * at a time.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
 @NonNullByDefault
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /** maximum number of XPath expressions for which compiled expressions are kept */
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+
+    /** maximum number of sources for which parsed documents are kept */
+    private static final int MAX_CACHED_DOCUMENTS = 8;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory;
+    private final XPathFactory xpathFactory = XPathFactory.newInstance();
+
+    private final ThreadLocal<@Nullable DocumentBuilder> documentBuilder = new ThreadLocal<>();
+    private final Map<String, Document> parsedDocuments = new ConcurrentHashMap<>();
+    private final Map<String, ThreadLocal<@Nullable XPathExpression>> compiledExpressions = new ConcurrentHashMap<>();
+
+    public XPathTransformationService() {
+        domFactory = DocumentBuilderFactory.newInstance();
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+    }
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,35 +82,81 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            Document doc = getDocument(source);
+            XPathExpression expr = getExpression(xpathExpression);
 
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
-
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            synchronized (doc) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+        }
+    }
+
+    /**
+     * Returns the parsed document for the given source. If the same source has been transformed recently, the
+     * previously parsed document is returned.
+     */
+    private Document getDocument(String source) throws ParserConfigurationException, SAXException, IOException {
+        Document doc = parsedDocuments.get(source);
+        if (doc == null) {
+            doc = parseDocument(source);
+            if (parsedDocuments.size() >= MAX_CACHED_DOCUMENTS) {
+                parsedDocuments.clear();
+            }
+            parsedDocuments.put(source, doc);
+        }
+        return doc;
+    }
+
+    /**
+     * Parses the given source into a new document.
+     */
+    protected Document parseDocument(String source) throws ParserConfigurationException, SAXException, IOException {
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+
+            return getDocumentBuilder().parse(inputSource);
+        }
+    }
+
+    private DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder.get();
+        if (builder == null) {
+            synchronized (domFactory) {
+                builder = domFactory.newDocumentBuilder();
+            }
+            documentBuilder.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    private XPathExpression getExpression(String xpathExpression) throws XPathExpressionException {
+        ThreadLocal<@Nullable XPathExpression> threadExpression = compiledExpressions.get(xpathExpression);
+        if (threadExpression == null) {
+            if (compiledExpressions.size() >= MAX_CACHED_EXPRESSIONS) {
+                compiledExpressions.clear();
+            }
+            threadExpression = compiledExpressions.computeIfAbsent(xpathExpression, key -> new ThreadLocal<>());
+        }
+
+        XPathExpression expr = threadExpression.get();
+        if (expr == null) {
+            synchronized (xpathFactory) {
+                expr = xpathFactory.newXPath().compile(xpathExpression);
             }
+            threadExpression.set(expr);
         }
+        return expr;
     }
 
 }
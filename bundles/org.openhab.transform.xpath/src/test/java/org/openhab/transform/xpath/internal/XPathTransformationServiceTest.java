@@ -14,10 +14,17 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.ParserConfigurationException;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
 import org.openhab.transform.xpath.internal.XPathTransformationService;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
 
 /**
  * @author Thomas.Eichstaedt-Engelen
@@ -41,4 +48,43 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformMultipleExpressionsOnSameSource() throws TransformationException {
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
+
+    @Test
+    public void testTransformChangedSource() throws TransformationException {
+        String otherSource = source.replace("<temp_c data=\"8\"/>", "<temp_c data=\"12\"/>");
+
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("12", processor.transform("//current_conditions/temp_c/@data", otherSource));
+    }
+
+    @Test
+    public void testRepeatedSourceIsParsedOnce() throws TransformationException {
+        AtomicInteger parsedDocuments = new AtomicInteger();
+        processor = new XPathTransformationService() {
+            @Override
+            protected Document parseDocument(String source)
+                    throws ParserConfigurationException, SAXException, IOException {
+                parsedDocuments.incrementAndGet();
+                return super.parseDocument(source);
+            }
+        };
+
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+        assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", new String(source)));
+
+        assertEquals(1, parsedDocuments.get());
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformInvalidSource() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", "<xml_api_reply");
+    }
+
 }
@@ -16,15 +16,15 @@ import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
-import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -35,14 +35,22 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * <p>
+ * Stylesheets are compiled into thread safe {@link Templates} once. When a stylesheet is modified, the
+ * {@link AbstractFileTransformationService} drops it from its cache and the file is compiled again on the next
+ * transformation. As {@link Transformer}s must not be shared between threads, every thread gets its own
+ * {@link Transformer} per stylesheet, which is reused between calls.
+ *
  * @author Thomas.Eichstaedt-Engelen
  */
-@NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=XSLT" })
-public class XsltTransformationService implements TransformationService {
+@Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=XSLT" })
+public class XsltTransformationService
+        extends AbstractFileTransformationService<XsltTransformationService.CompiledStylesheet> {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -50,41 +58,22 @@ public class XsltTransformationService implements TransformationService {
      * is stored under the 'configurations/transform' folder. To organize the
      * various transformations one should use subfolders.
      *
-     * @param filename the name of the file which contains the XSLT transformation rule.
-     *            The name may contain subfoldernames as well
+     * @param stylesheet the compiled XSLT transformation rule
      * @param source the input to transform
      */
     @Override
-    public @Nullable String transform(String filename, String source) throws TransformationException {
-        if (filename == null || source == null) {
-            throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
-        }
+    protected String internalTransform(CompiledStylesheet stylesheet, String source) throws TransformationException {
+        logger.debug("about to transform '{}'", source);
 
-        Source xsl = null;
-
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
-
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        Transformer transformer = stylesheet.transformer.get();
+        transformer.reset();
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
             transformer.transform(new StreamSource(xml), new StreamResult(out));
-        } catch (Exception e) {
-            logger.error("transformation throws exception", e);
+        } catch (TransformerException e) {
             throw new TransformationException("transformation throws exception", e);
         }
 
@@ -93,4 +82,40 @@ public class XsltTransformationService implements TransformationService {
         return out.toString();
     }
 
+    @Override
+    protected CompiledStylesheet internalLoadTransform(String filename) throws TransformationException {
+        logger.debug("Loading XSLT {} from storage", filename);
+        try {
+            Templates templates;
+            // TransformerFactory is not guaranteed to be thread safe
+            synchronized (transformerFactory) {
+                templates = transformerFactory.newTemplates(new StreamSource(new File(filename)));
+            }
+            return new CompiledStylesheet(templates);
+        } catch (TransformerConfigurationException e) {
+            throw new TransformationException("opening file '" + filename + "' throws exception", e);
+        }
+    }
+
+    /**
+     * Compiled stylesheet with a {@link Transformer} per thread
+     */
+    protected static class CompiledStylesheet {
+
+        private final ThreadLocal<Transformer> transformer;
+
+        private CompiledStylesheet(Templates templates) throws TransformerConfigurationException {
+            // compile the first transformer eagerly, so that errors in the stylesheet are reported immediately
+            Transformer initialTransformer = templates.newTransformer();
+            this.transformer = ThreadLocal.withInitial(() -> {
+                try {
+                    return templates.newTransformer();
+                } catch (TransformerConfigurationException e) {
+                    // cannot happen, the stylesheet has already been instantiated successfully once
+                    throw new IllegalStateException(e);
+                }
+            });
+            this.transformer.set(initialTransformer);
+        }
+    }
 }
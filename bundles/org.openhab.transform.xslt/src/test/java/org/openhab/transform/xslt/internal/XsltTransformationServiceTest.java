@@ -14,6 +14,8 @@ package org.openhab.transform.xslt.internal;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Locale;
+
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,7 +30,12 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
 
     @Before
     public void init() {
-        processor = new XsltTransformationService();
+        processor = new XsltTransformationService() {
+            @Override
+            protected Locale getLocale() {
+                return Locale.US;
+            }
+        };
     }
 
     @Test
@@ -41,4 +48,18 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByCachedXSLT() throws TransformationException {
+        String otherSource = source.replace("<temp_c data=\"8\"/>", "<temp_c data=\"12\"/>");
+
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+        assertEquals("12", processor.transform("http/google_weather.xsl", otherSource));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByMissingXSLT() throws TransformationException {
+        processor.transform("http/missing.xsl", source);
+    }
+
 }